@@ -0,0 +1,105 @@
+package com.taskmanagement.benchmark;
+
+import com.taskmanagement.config.CacheConfig;
+import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.model.Role;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import com.taskmanagement.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared fixtures for the benchmarks: wired-up components without a Spring context or database.
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "bXktMzItY2hhcmFjdGVyLXVsdHJhLXNlY3VyZS1hbmQtdWx0cmEtbG9uZy1zZWNyZXQ=";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtTokenProvider jwtTokenProvider(CacheManager cacheManager) {
+        JwtTokenProvider provider = new JwtTokenProvider(cacheManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationDate", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+
+    static CacheManager verifiedTokenCacheManager() {
+        return new CaffeineCacheManager(CacheConfig.VERIFIED_TOKEN_CACHE);
+    }
+
+    static User user(long id) {
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role(1L, "ROLE_USER"));
+        User user = User.builder()
+                .id(id)
+                .name("Benchmark User " + id)
+                .username("user" + id)
+                .email("user" + id + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOa6z1p0hHzGxkCZQ6qFZoKfC1zuCk0TW")
+                .roles(roles)
+                .build();
+        user.setActive(true);
+        return user;
+    }
+
+    static List<Task> tasks(User user, int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        LocalDate today = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setDescription("Description for task " + i + " with a little more text to look realistic");
+            task.setDueDate(today.plusDays(i % 365));
+            task.setStatus(Task.TaskStatus.values()[i % Task.TaskStatus.values().length]);
+            task.setUser(user);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static List<TaskDto> taskDtos(int count) {
+        List<TaskDto> taskDtos = new ArrayList<>(count);
+        LocalDate today = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < count; i++) {
+            taskDtos.add(new TaskDto((long) i + 1, "Task " + i,
+                    "Description for task " + i + " with a little more text to look realistic",
+                    today.plusDays(i % 365), Task.TaskStatus.values()[i % Task.TaskStatus.values().length].name(), 0L));
+        }
+        return taskDtos;
+    }
+
+    // Minimal repository stand-in: answers one method and rejects everything else
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, String methodName, Function<Object[], Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                default:
+                    if (method.getName().equals(methodName)) {
+                        return answer.apply(args);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
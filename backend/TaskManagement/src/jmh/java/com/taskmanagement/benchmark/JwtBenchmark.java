@@ -0,0 +1,63 @@
+package com.taskmanagement.benchmark;
+
+import com.taskmanagement.security.JwtTokenProvider;
+import com.taskmanagement.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider cachedProvider;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setup() {
+        uncachedProvider = BenchmarkFixtures.jwtTokenProvider(new NoOpCacheManager());
+        cachedProvider = BenchmarkFixtures.jwtTokenProvider(BenchmarkFixtures.verifiedTokenCacheManager());
+        principal = UserPrincipal.create(BenchmarkFixtures.user(1L));
+        token = uncachedProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedProvider.generateToken(principal);
+    }
+
+    // Full HMAC verification and claims parse on every call
+    @Benchmark
+    public Optional<Claims> validateToken() {
+        return uncachedProvider.validateAndGetClaims(token);
+    }
+
+    // Repeat caller served from the verified-token cache
+    @Benchmark
+    public Optional<Claims> validateTokenCached() {
+        return cachedProvider.validateAndGetClaims(token);
+    }
+
+    @Benchmark
+    public Optional<UserPrincipal> principalFromClaims() {
+        return uncachedProvider.validateAndGetClaims(token).flatMap(uncachedProvider::getPrincipal);
+    }
+}
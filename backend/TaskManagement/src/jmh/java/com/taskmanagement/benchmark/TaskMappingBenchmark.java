@@ -0,0 +1,54 @@
+package com.taskmanagement.benchmark;
+
+import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserRepository;
+import com.taskmanagement.service.impl.TaskServiceImpl;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskMappingBenchmark {
+
+    @Param({"20", "200"})
+    private int taskCount;
+
+    private TaskServiceImpl taskService;
+
+    @Setup
+    public void setup() {
+        List<Task> tasks = BenchmarkFixtures.tasks(BenchmarkFixtures.user(1L), taskCount);
+        TaskRepository taskRepository = BenchmarkFixtures.stub(TaskRepository.class, "searchByUserId", args -> tasks);
+        UserRepository userRepository = BenchmarkFixtures.stub(UserRepository.class, "none", args -> null);
+        taskService = new TaskServiceImpl(taskRepository, userRepository,
+                Jackson2ObjectMapperBuilder.json().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(), event -> { });
+    }
+
+    // Entity -> DTO mapping of a page of search results. The plain list endpoints select
+    // DTOs directly and no longer map entities.
+    @Benchmark
+    public List<TaskDto> mapTaskList() {
+        return taskService.searchTasks(1L, "task", 0, taskCount).getContent();
+    }
+}
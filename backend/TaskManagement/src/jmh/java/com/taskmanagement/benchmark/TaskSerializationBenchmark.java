@@ -0,0 +1,94 @@
+package com.taskmanagement.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanagement.config.BinaryFormatConfig;
+import com.taskmanagement.dto.TaskDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encoding cost per format and compression. JMH only reports time, so the payload size of each
+// combination is recorded once per trial in a JSON file next to the JMH results
+// (-Djmh.payloadSizes, default target/jmh-payload-sizes.json).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int taskCount;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    // gzip at the default level, as the servlet container applies it
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private static final int SIZE_REPORT_TASKS = 10_000;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDto> taskDtos;
+
+    @Setup
+    public void setup() throws IOException {
+        // Same defaults Spring Boot applies to the ObjectMapper used by the controllers
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "smile" -> BinaryFormatConfig.smileObjectMapper(builder);
+            case "cbor" -> BinaryFormatConfig.cborObjectMapper(builder);
+            default -> builder.build();
+        };
+        taskDtos = BenchmarkFixtures.taskDtos(taskCount);
+        recordPayloadSize(serializeTaskList().length);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = "gzip".equals(compression) ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, taskDtos);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Each trial runs in its own fork, so the file is read back and merged rather than overwritten
+    private void recordPayloadSize(int bytes) throws IOException {
+        File file = new File(System.getProperty("jmh.payloadSizes", "target/jmh-payload-sizes.json"));
+        ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Map<String, PayloadSize> sizes = file.isFile()
+                ? json.readValue(file, new TypeReference<TreeMap<String, PayloadSize>>() { })
+                : new TreeMap<>();
+        sizes.put(format + "/" + compression + "/" + taskCount,
+                new PayloadSize(bytes, Math.round((double) bytes * SIZE_REPORT_TASKS / taskCount)));
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        json.writeValue(file, sizes);
+    }
+
+    public record PayloadSize(long bytes, long bytesPer10kTasks) {
+    }
+}
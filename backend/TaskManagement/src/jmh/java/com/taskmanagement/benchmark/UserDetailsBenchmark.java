@@ -0,0 +1,45 @@
+package com.taskmanagement.benchmark;
+
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.UserRepository;
+import com.taskmanagement.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserDetailsBenchmark {
+
+    private CustomUserDetailsService userDetailsService;
+
+    @Setup
+    public void setup() {
+        Optional<User> user = Optional.of(BenchmarkFixtures.user(1L));
+        UserRepository userRepository = BenchmarkFixtures.stub(UserRepository.class, "findByUsernameOrEmail",
+                args -> user);
+        userDetailsService = new CustomUserDetailsService(userRepository, new SimpleMeterRegistry());
+    }
+
+    // UserDetails construction on top of an in-memory lookup, i.e. everything but the query itself
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername("user1");
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String PRINCIPAL_CACHE = "principals";
+    public static final String VERIFIED_TOKEN_CACHE = "verifiedTokens";
+    public static final String TOKEN_VERSION_CACHE = "tokenVersions";
+
+    @Value("${app.cache.principals.max-size:10000}")
+    private long principalCacheMaxSize;
+
+    @Value("${app.cache.principals.ttl-seconds:300}")
+    private long principalCacheTtlSeconds;
+
+    @Value("${app.cache.verified-tokens.max-size:10000}")
+    private long verifiedTokenCacheMaxSize;
+
+    @Value("${app.cache.verified-tokens.ttl-seconds:60}")
+    private long verifiedTokenCacheTtlSeconds;
+
+    @Value("${app.cache.token-versions.max-size:100000}")
+    private long tokenVersionCacheMaxSize;
+
+    @Value("${app.cache.token-versions.ttl-seconds:60}")
+    private long tokenVersionCacheTtlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // recordStats() feeds the cache.gets{result=hit|miss} and cache.evictions meters
+        cacheManager.registerCustomCache(PRINCIPAL_CACHE, Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(principalCacheTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(VERIFIED_TOKEN_CACHE, Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(verifiedTokenCacheTtlSeconds))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(TOKEN_VERSION_CACHE, Caffeine.newBuilder()
+                .maximumSize(tokenVersionCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(tokenVersionCacheTtlSeconds))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -2,16 +2,39 @@ package com.taskmanagement.config;
 
 import com.taskmanagement.model.Role;
 import com.taskmanagement.repository.RoleRepository;
+import com.taskmanagement.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
 @Component
 public class DatabaseInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseInitializer.class);
+
+    // JPA can't declare FULLTEXT indexes, so the one behind task search is created here
+    private static final String TASK_SEARCH_INDEX = "ft_tasks_title_description";
+
+    // Indexes replaced under a new name; schema update only adds indexes, so the old ones are dropped here
+    private static final List<String> OBSOLETE_INDEXES = List.of(
+            "idx_tasks_user_status_due_id", "idx_tasks_user_due_id", "idx_user_purges_status_requested");
+
     private final RoleRepository roleRepository;
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public DatabaseInitializer(RoleRepository roleRepository) {
+    public DatabaseInitializer(RoleRepository roleRepository, TaskRepository taskRepository,
+                               JdbcTemplate jdbcTemplate) {
         this.roleRepository = roleRepository;
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -19,6 +42,77 @@ public class DatabaseInitializer implements CommandLineRunner {
         // Initialize roles if they don't exist
         createRoleIfNotExists("ROLE_USER");
         createRoleIfNotExists("ROLE_ADMIN");
+
+        alignTaskIdSequence();
+        backfillTaskTimestamps();
+        createTaskSearchIndexIfNotExists();
+        dropObsoleteIndexes();
+    }
+
+    private void dropObsoleteIndexes() {
+        List<String[]> existing;
+        try {
+            existing = jdbcTemplate.query(
+                    "select distinct table_name, index_name from information_schema.statistics " +
+                            "where table_schema = database() and index_name in (" +
+                            String.join(", ", Collections.nCopies(OBSOLETE_INDEXES.size(), "?")) + ")",
+                    (rs, rowNum) -> new String[] {rs.getString(1), rs.getString(2)},
+                    OBSOLETE_INDEXES.toArray());
+        } catch (DataAccessException e) {
+            // Only MySQL schemas predate the renames
+            logger.debug("Skipping the obsolete index cleanup: {}", e.getMessage());
+            return;
+        }
+        for (String[] index : existing) {
+            try {
+                jdbcTemplate.execute("drop index " + index[1] + " on " + index[0]);
+                logger.info("Dropped obsolete index {} on {}", index[1], index[0]);
+            } catch (DataAccessException e) {
+                logger.warn("Could not drop obsolete index {} on {}: {}", index[1], index[0], e.getMessage());
+            }
+        }
+    }
+
+    private void createTaskSearchIndexIfNotExists() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.statistics " +
+                            "where table_schema = database() and table_name = 'tasks' and index_name = ?",
+                    Integer.class, TASK_SEARCH_INDEX);
+            if (existing != null && existing == 0) {
+                jdbcTemplate.execute("create fulltext index " + TASK_SEARCH_INDEX + " on tasks (title, description)");
+                logger.info("Created full-text index {} for task search", TASK_SEARCH_INDEX);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Task search is unavailable, could not create the full-text index: {}", e.getMessage());
+        }
+    }
+
+    private void backfillTaskTimestamps() {
+        int backfilled = taskRepository.backfillTimestamps(Instant.now());
+        if (backfilled > 0) {
+            logger.info("Set created/updated timestamps on {} existing tasks", backfilled);
+        }
+    }
+
+    private void alignTaskIdSequence() {
+        // Databases with native sequences have no tasks_seq table to align. Checked up front, since a
+        // failed native update is logged as an error by Hibernate even when it is caught here.
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.tables " +
+                            "where table_schema = database() and table_name = 'tasks_seq'",
+                    Integer.class);
+            if (existing == null || existing == 0) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            logger.debug("Skipping tasks_seq alignment: {}", e.getMessage());
+            return;
+        }
+        if (taskRepository.alignIdSequence() > 0) {
+            logger.info("Moved tasks_seq past the highest existing task id");
+        }
     }
 
     private void createRoleIfNotExists(String roleName) {
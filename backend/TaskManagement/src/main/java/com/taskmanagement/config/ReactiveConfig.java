@@ -0,0 +1,59 @@
+package com.taskmanagement.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Non-blocking R2DBC access to the same database, used by the reactive read API. Off unless
+ * {@code app.reactive.enabled=true}; Spring Boot's R2DBC auto-configuration is excluded so the
+ * servlet stack keeps a single JDBC transaction manager.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+    @Value("${app.reactive.url:r2dbc:mysql://localhost:3306/taskmanagement}")
+    private String url;
+
+    @Value("${app.reactive.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${app.reactive.password:${spring.datasource.password:}}")
+    private String password;
+
+    // A few connections serve many concurrent streams; none of them holds a thread while waiting
+    @Value("${app.reactive.pool.max-size:10}")
+    private int maxPoolSize;
+
+    // Not a bean: a ConnectionFactory bean would make Boot back off from the JDBC DataSource
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(maxPoolSize)
+                .build();
+        connectionPool = new ConnectionPool(configuration);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
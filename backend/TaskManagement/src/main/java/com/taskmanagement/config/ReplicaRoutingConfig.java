@@ -0,0 +1,148 @@
+package com.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work, enabled by listing their JDBC
+ * URLs in {@code app.datasource.replica-urls}. The primary pool is still configured through
+ * {@code spring.datasource.*}; replicas share its Hikari settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica-urls")
+public class ReplicaRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Value("${app.datasource.replica-urls}")
+    private String replicaUrls;
+
+    @Value("${app.datasource.replica-username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica-password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    // round-robin or least-busy (fewest active connections)
+    @Value("${app.datasource.replica-selection:round-robin}")
+    private String replicaSelection;
+
+    // Short, so a dead replica costs a read little before it falls back to the primary
+    @Value("${app.datasource.replica-connection-timeout-milliseconds:1000}")
+    private long replicaConnectionTimeout;
+
+    // How long after a user's own change their reads stay on the primary; 0 disables it
+    @Value("${app.datasource.read-your-writes-milliseconds:0}")
+    private long readYourWritesMillis;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(Duration.ofMillis(readYourWritesMillis), 100_000);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 ReadYourWritesTracker readYourWritesTracker,
+                                                                 MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (String url : StringUtils.commaDelimitedListToSet(replicaUrls)) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + index++);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(replicaConnectionTimeout);
+            // Start even if a replica is down; the health check brings it in later
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        ReadWriteRoutingDataSource.Selection selection = ReadWriteRoutingDataSource.Selection.valueOf(
+                replicaSelection.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        logger.info("Routing read-only transactions to {} replicas ({})", replicas.size(), selection);
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, selection, readYourWritesTracker,
+                meterRegistry);
+    }
+
+    // The DataSource used by JPA and JdbcTemplate
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                 HikariDataSource primaryDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(readWriteRoutingDataSource);
+        // Known up front, so starting a transaction never has to fetch a real connection to ask
+        dataSource.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    // With open-in-view a session outlives its transactions. Holding its connection would pin
+    // the rest of the request to whichever database the first transaction was routed to.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                                             Object handler) {
+                        // Marked before the write runs, so no later read can beat it to the replica
+                        if (!SAFE_METHODS.contains(request.getMethod())) {
+                            readYourWritesTracker.markWrite(ReadYourWritesTracker.currentUserId());
+                        }
+                        return true;
+                    }
+                }).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
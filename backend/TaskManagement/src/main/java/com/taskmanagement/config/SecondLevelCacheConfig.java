@@ -0,0 +1,89 @@
+package com.taskmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.taskmanagement.model.Role;
+import com.taskmanagement.model.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache backed by an in-process Caffeine JCache provider.
+ * Every region is declared here with its own size bound and expiry. Tasks have no region:
+ * they are read through queries and written with bulk updates, so one would only ever be
+ * invalidated, never hit.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.cache.l2.users.max-size:10000}")
+    private long userRegionMaxSize;
+
+    @Value("${app.cache.l2.users.ttl-seconds:60}")
+    private long userRegionTtlSeconds;
+
+    @Value("${app.cache.l2.queries.max-size:1000}")
+    private long queryRegionMaxSize;
+
+    @Value("${app.cache.l2.queries.ttl-seconds:600}")
+    private long queryRegionTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of its own rather than the JVM-wide default one, so a second application
+        // context in the same JVM (tests) neither collides with these regions nor sees them closed
+        URI uri = URI.create("urn:taskmanagement:hibernate-l2:" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        // Roles never change once created: small and never expired
+        cacheManager.createCache(Role.class.getName(), region(100, 0));
+        // Users change rarely but must not be stale for long (deactivation)
+        cacheManager.createCache(User.class.getName(), region(userRegionMaxSize, userRegionTtlSeconds));
+        cacheManager.createCache(User.class.getName() + ".roles", region(userRegionMaxSize, userRegionTtlSeconds));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queryRegionMaxSize, queryRegionTtlSeconds));
+        // Timestamps guard query cache staleness and must outlive every cached query result
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(0, 0));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernatePropertiesCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    // maxSize or ttlSeconds of 0 means unbounded
+    private CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
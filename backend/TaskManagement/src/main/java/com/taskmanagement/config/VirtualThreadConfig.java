@@ -0,0 +1,73 @@
+package com.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Extras for the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}),
+ * in which Spring Boot runs Tomcat request handling and the application task executor on
+ * virtual threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // Hikari's own default, used when the pool size can't be read
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // Requests also spend time outside JDBC (auth, serialization), so allow a few per connection
+    @Value("${app.virtual-threads.permits-per-connection:2}")
+    private int permitsPerConnection;
+
+    // Explicit limit; 0 derives it from the connection pool size
+    @Value("${app.virtual-threads.max-concurrent-requests:0}")
+    private int maxConcurrentRequests;
+
+    @Value("${app.virtual-threads.acquire-timeout-milliseconds:5000}")
+    private long acquireTimeout;
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(DataSource dataSource,
+                                                                           MeterRegistry meterRegistry) {
+        int limit = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : poolSize(dataSource) * permitsPerConnection;
+        logger.info("Virtual threads enabled, limiting API requests to {} in flight", limit);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, acquireTimeout, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of Spring Security, whose JWT filter may already need a connection
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                // Unset (-1) until the pool starts if not configured explicitly
+                int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                if (maximumPoolSize > 0) {
+                    return maximumPoolSize;
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not read the connection pool size: {}", e.getMessage());
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
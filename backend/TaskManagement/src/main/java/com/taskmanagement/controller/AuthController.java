@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication API")
@@ -27,15 +29,14 @@ public class AuthController {
 
     @Operation(summary = "User Registration API")
     @PostMapping("/register")
-    public ResponseEntity<String> register(@Valid @RequestBody RegisterDto registerDto) {
-        String response = authService.register(registerDto);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<String>> register(@Valid @RequestBody RegisterDto registerDto) {
+        return authService.register(registerDto)
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
     }
 
     @Operation(summary = "User Login API")
     @PostMapping("/login")
-    public ResponseEntity<JwtAuthResponse> login(@Valid @RequestBody LoginDto loginDto) {
-        JwtAuthResponse jwtAuthResponse = authService.login(loginDto);
-        return ResponseEntity.ok(jwtAuthResponse);
+    public CompletableFuture<ResponseEntity<JwtAuthResponse>> login(@Valid @RequestBody LoginDto loginDto) {
+        return authService.login(loginDto).thenApply(ResponseEntity::ok);
     }
 }
@@ -0,0 +1,56 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.security.UserPrincipal;
+import com.taskmanagement.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Lists are streamed item by item for application/x-ndjson and collected into an array for application/json
+@RestController
+@RequestMapping("/api/reactive/tasks")
+@Tag(name = "Reactive Task API")
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    public ReactiveTaskController(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    @Operation(summary = "Stream all tasks for current user")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TaskDto> getAllTasks(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return reactiveTaskService.getAllTasksByUserId(currentUser.getId());
+    }
+
+    @Operation(summary = "Get a task by ID")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping(value = "/{taskId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<TaskDto> getTaskById(
+            @PathVariable Long taskId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        return reactiveTaskService.getTaskById(taskId, currentUser.getId());
+    }
+
+    @Operation(summary = "Stream all tasks (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<TaskDto> getAllTasksForAdmin() {
+        return reactiveTaskService.getAllTasks();
+    }
+}
@@ -1,19 +1,39 @@
 package com.taskmanagement.controller;
 
+import com.taskmanagement.dto.TaskBatchIdsRequest;
+import com.taskmanagement.dto.TaskBatchResponse;
+import com.taskmanagement.dto.TaskChangesResponse;
 import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.dto.TaskExportFormat;
+import com.taskmanagement.dto.TaskPageResponse;
+import com.taskmanagement.dto.TaskSearchResponse;
+import com.taskmanagement.dto.TaskStatsDto;
+import com.taskmanagement.event.TaskEventBus;
+import com.taskmanagement.exception.BadRequestException;
+import com.taskmanagement.security.UserPrincipal;
 import com.taskmanagement.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -21,9 +41,11 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskEventBus taskEventBus;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskEventBus taskEventBus) {
         this.taskService = taskService;
+        this.taskEventBus = taskEventBus;
     }
 
     @Operation(summary = "Create a new task")
@@ -31,15 +53,9 @@ public class TaskController {
     @PostMapping
     public ResponseEntity<TaskDto> createTask(
             @Valid @RequestBody TaskDto taskDto,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal currentUser) {
         
-        // Get username from UserDetails
-        String username = userDetails.getUsername();
-        
-        // For simplicity, we're assuming userId is 1 here
-        // In a real application, you would retrieve the user ID from the database
-        // based on the authenticated user's username
-        TaskDto createdTask = taskService.createTask(taskDto, 1L);
+        TaskDto createdTask = taskService.createTask(taskDto, currentUser.getId());
         
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
@@ -48,12 +64,86 @@ public class TaskController {
     @SecurityRequirement(name = "Bearer Authentication")
     @GetMapping
     public ResponseEntity<List<TaskDto>> getAllTasksByUser(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            WebRequest webRequest) {
         
-        // For simplicity, we're assuming userId is 1 here
-        List<TaskDto> tasks = taskService.getAllTasksByUserId(1L);
+        // Checked before loading the list, so an unchanged poll costs one index-only aggregate
+        // instead of reading and serializing every task
+        String eTag = weakETag(taskService.getTaskListVersion(currentUser.getId()));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         
-        return ResponseEntity.ok(tasks);
+        List<TaskDto> tasks = taskService.getAllTasksByUserId(currentUser.getId());
+        
+        return ResponseEntity.ok().eTag(eTag).body(tasks);
+    }
+
+    @Operation(summary = "Get a page of tasks for current user (keyset paginated)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/page")
+    public ResponseEntity<TaskPageResponse> getTasksPageByUser(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        TaskPageResponse page = taskService.getTasksPageByUserId(
+                currentUser.getId(), status, dueFrom, dueTo, sort, cursor, size);
+        
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Get tasks created, updated or deleted since a sync cursor")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        TaskChangesResponse changes = taskService.getTaskChanges(currentUser.getId(), since, size);
+        
+        return ResponseEntity.ok(changes);
+    }
+
+    @Operation(summary = "Subscribe to create, update and delete events for the current user's tasks (SSE)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTaskEvents(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return taskEventBus.subscribe(currentUser.getId());
+    }
+
+    @Operation(summary = "Full-text search over the current user's task titles and descriptions")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        TaskSearchResponse results = taskService.searchTasks(currentUser.getId(), query, page, size);
+        
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(summary = "Get task counts per status, overdue and due this week for current user")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDto> getTaskStats(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(taskService.getTaskStats(currentUser.getId()));
+    }
+
+    @Operation(summary = "Get task statistics across all users (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/stats/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TaskStatsDto> getAllTaskStats() {
+        return ResponseEntity.ok(taskService.getAllTaskStats());
     }
 
     @Operation(summary = "Get task by ID")
@@ -61,12 +151,17 @@ public class TaskController {
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskDto> getTaskById(
             @PathVariable Long taskId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            WebRequest webRequest) {
+        
+        TaskDto task = taskService.getTaskById(taskId, currentUser.getId());
         
-        // For simplicity, we're assuming userId is 1 here
-        TaskDto task = taskService.getTaskById(taskId, 1L);
+        String eTag = weakETag(String.valueOf(task.getVersion()));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(eTag).body(task);
     }
 
     @Operation(summary = "Update task")
@@ -75,12 +170,12 @@ public class TaskController {
     public ResponseEntity<TaskDto> updateTask(
             @PathVariable Long taskId,
             @Valid @RequestBody TaskDto taskDto,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
         
-        // For simplicity, we're assuming userId is 1 here
-        TaskDto updatedTask = taskService.updateTask(taskId, taskDto, 1L);
+        TaskDto updatedTask = taskService.updateTask(taskId, taskDto, currentUser.getId(), parseIfMatch(ifMatch));
         
-        return ResponseEntity.ok(updatedTask);
+        return ResponseEntity.ok().eTag(weakETag(String.valueOf(updatedTask.getVersion()))).body(updatedTask);
     }
 
     @Operation(summary = "Delete task")
@@ -88,14 +183,63 @@ public class TaskController {
     @DeleteMapping("/{taskId}")
     public ResponseEntity<String> deleteTask(
             @PathVariable Long taskId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserPrincipal currentUser) {
         
-        // For simplicity, we're assuming userId is 1 here
-        taskService.deleteTask(taskId, 1L);
+        taskService.deleteTask(taskId, currentUser.getId());
         
         return ResponseEntity.ok("Task deleted successfully");
     }
 
+    @Operation(summary = "Create tasks in bulk")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> createTasks(
+            @RequestBody List<TaskDto> taskDtos,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        // Items are validated one by one so a bad item is reported instead of rejecting the batch
+        TaskBatchResponse response = taskService.createTasks(taskDtos, currentUser.getId());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Update tasks in bulk")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PutMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> updateTasks(
+            @RequestBody List<TaskDto> taskDtos,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        TaskBatchResponse response = taskService.updateTasks(taskDtos, currentUser.getId());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Delete tasks in bulk")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping("/batch/delete")
+    public ResponseEntity<TaskBatchResponse> deleteTasks(
+            @Valid @RequestBody TaskBatchIdsRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        TaskBatchResponse response = taskService.deleteTasks(request.getIds(), currentUser.getId());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Change the status of tasks in bulk")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PatchMapping("/batch/status")
+    public ResponseEntity<TaskBatchResponse> updateTasksStatus(
+            @Valid @RequestBody TaskBatchIdsRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        TaskBatchResponse response = taskService.updateTasksStatus(
+                request.getIds(), request.getStatus(), currentUser.getId());
+        
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Get all tasks (Admin only)")
     @SecurityRequirement(name = "Bearer Authentication")
     @GetMapping("/all")
@@ -104,4 +248,51 @@ public class TaskController {
         List<TaskDto> tasks = taskService.getAllTasks();
         return ResponseEntity.ok(tasks);
     }
+
+    @Operation(summary = "Stream an export of all tasks as NDJSON or CSV (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/all/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAllTasks(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        TaskExportFormat exportFormat = TaskExportFormat.from(format);
+        StreamingResponseBody body = outputStream -> taskService.exportAllTasks(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    // One entity-tag from an If-Match list: optional weak prefix, then a quoted opaque value
+    private static final Pattern ENTITY_TAG = Pattern.compile("(?:W/)?\"([^\"]*)\"");
+
+    private static String weakETag(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    // Returns the versions the client accepts, or null when no precondition was sent (or "*").
+    // Tags that are not one of our versions cannot match and are dropped, so a list of only
+    // those comes back empty and the update fails its precondition.
+    // Deliberately looser than RFC 9110, which only lets strong tags match If-Match. Task ETags are
+    // weak because Tomcat weakens strong ones on every gzip-compressed response, and the version
+    // they carry is the same whatever the encoding, so it is compared as-is.
+    static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String entityTag : ifMatch.split(",")) {
+            Matcher matcher = ENTITY_TAG.matcher(entityTag.trim());
+            if (!matcher.matches()) {
+                throw new BadRequestException("Malformed If-Match header: " + ifMatch);
+            }
+            try {
+                versions.add(Long.parseLong(matcher.group(1)));
+            } catch (NumberFormatException e) {
+                // Someone else's tag format
+            }
+        }
+        return versions;
+    }
 }
@@ -1,6 +1,8 @@
 package com.taskmanagement.controller;
 
 import com.taskmanagement.dto.UserDto;
+import com.taskmanagement.dto.UserPageResponse;
+import com.taskmanagement.dto.UserPurgeDto;
 import com.taskmanagement.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -8,6 +10,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -30,6 +33,22 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    @Operation(summary = "Page through users with filters and a keyset cursor (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/page")
+    public ResponseEntity<UserPageResponse> getUsersPage(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String provider,
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTaskCounts) {
+        return ResponseEntity.ok(userService.getUsersPage(active, provider, query, sort, direction, cursor, size,
+                includeTaskCounts));
+    }
+
     @Operation(summary = "Get user by ID (Admin only)")
     @SecurityRequirement(name = "Bearer Authentication")
     @GetMapping("/{id}")
@@ -49,7 +68,18 @@ public class UserController {
     @SecurityRequirement(name = "Bearer Authentication")
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
-        return ResponseEntity.ok("User deleted successfully");
+        if (userService.deleteUser(id)) {
+            return ResponseEntity.ok("User deleted successfully");
+        }
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/purge").build().toUri())
+                .body("User deactivated; their tasks are being deleted in the background");
+    }
+
+    @Operation(summary = "Progress of a background user deletion (Admin only)")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/{id}/purge")
+    public ResponseEntity<UserPurgeDto> getUserPurge(@PathVariable Long id) {
+        return ResponseEntity.ok(userService.getUserPurge(id));
     }
 }
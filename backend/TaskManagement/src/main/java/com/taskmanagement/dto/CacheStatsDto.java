@@ -0,0 +1,20 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    // "hibernate" for second-level/query cache regions, "application" for Spring caches
+    private String type;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long size;
+}
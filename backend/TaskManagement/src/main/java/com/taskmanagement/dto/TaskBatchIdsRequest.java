@@ -0,0 +1,22 @@
+package com.taskmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchIdsRequest {
+    
+    @NotEmpty(message = "Task ids should not be empty")
+    private List<Long> ids;
+    
+    // Only used by the batch status change
+    private String status;
+}
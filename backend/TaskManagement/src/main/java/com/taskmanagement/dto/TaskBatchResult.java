@@ -0,0 +1,19 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResult {
+    // Position of the item in the request
+    private int index;
+    private Long id;
+    private boolean success;
+    private String error;
+    private TaskDto task;
+}
@@ -0,0 +1,25 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+    // True when the client must drop its local copy and rebuild it from these pages:
+    // on the first sync, or when the cursor is older than the tombstone retention
+    private boolean reset;
+    // Created or updated tasks, oldest change first
+    private List<TaskDto> changed;
+    // Ids of tasks deleted since the cursor
+    private List<Long> deleted;
+    private boolean hasMore;
+    // Opaque cursor to pass back as ?since= on the next call
+    private String nextCursor;
+}
@@ -1,7 +1,9 @@
 package com.taskmanagement.dto;
 
+import com.taskmanagement.model.Task;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,6 +20,7 @@ public class TaskDto {
     private Long id;
     
     @NotEmpty(message = "Task title should not be empty")
+    @Size(max = 255, message = "Task title should be at most 255 characters")
     private String title;
     
     private String description;
@@ -26,4 +29,13 @@ public class TaskDto {
     
     @NotNull(message = "Task status should not be null")
     private String status;
+    
+    // Set by the server; send it back as If-Match to avoid overwriting someone else's change
+    private Long version;
+
+    // Target of the JPQL constructor projections in TaskRepository, which select the enum as-is
+    public TaskDto(Long id, String title, String description, LocalDate dueDate, Task.TaskStatus status,
+                   long version) {
+        this(id, title, description, dueDate, status.name(), version);
+    }
 }
@@ -0,0 +1,27 @@
+package com.taskmanagement.dto;
+
+import com.taskmanagement.exception.BadRequestException;
+import lombok.Getter;
+
+@Getter
+public enum TaskExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    TaskExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public static TaskExportFormat from(String format) {
+        for (TaskExportFormat value : values()) {
+            if (value.fileExtension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new BadRequestException("Unsupported export format: " + format);
+    }
+}
@@ -0,0 +1,20 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageResponse {
+    private List<TaskDto> content;
+    private int size;
+    private boolean hasNext;
+    // Opaque cursor to pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+}
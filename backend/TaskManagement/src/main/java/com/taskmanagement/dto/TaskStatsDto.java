@@ -0,0 +1,24 @@
+package com.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsDto {
+    // Every status is present, zero when there are no tasks in it
+    private Map<String, Long> byStatus;
+    private long total;
+    // Not done and due before asOf
+    private long overdue;
+    // Not done and due between Monday and Sunday of the current week
+    private long dueThisWeek;
+    private LocalDate asOf;
+}
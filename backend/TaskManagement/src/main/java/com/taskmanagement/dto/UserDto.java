@@ -1,10 +1,13 @@
 package com.taskmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,4 +19,16 @@ public class UserDto {
     private String username;
     private String email;
     private boolean active;
+    
+    // Only filled in by the paginated user directory
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> roles;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long taskCount;
+
+    // Target of the constructor projections in UserRepository
+    public UserDto(Long id, String name, String username, String email, boolean active) {
+        this(id, name, username, email, active, null, null);
+    }
 }
@@ -0,0 +1,25 @@
+package com.taskmanagement.dto;
+
+import com.taskmanagement.model.UserPurge;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPurgeDto {
+    private Long userId;
+    private UserPurge.PurgeStatus status;
+    // Counted when the purge was requested, tombstones included
+    private long totalTasks;
+    private long tasksDeleted;
+    private Instant requestedAt;
+    private Instant completedAt;
+    // Why the last attempt failed; cleared once a later batch succeeds
+    private String lastError;
+}
@@ -0,0 +1,29 @@
+package com.taskmanagement.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.taskmanagement.dto.TaskDto;
+
+/**
+ * A change to one of a user's tasks, pushed to that user's event stream once the
+ * change has committed. {@code task} is null for deletions and for bulk status changes.
+ */
+public record TaskEvent(@JsonIgnore Long userId, Type type, Long taskId, TaskDto task) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskEvent created(Long userId, TaskDto task) {
+        return new TaskEvent(userId, Type.CREATED, task.getId(), task);
+    }
+
+    public static TaskEvent updated(Long userId, Long taskId, TaskDto task) {
+        return new TaskEvent(userId, Type.UPDATED, taskId, task);
+    }
+
+    public static TaskEvent deleted(Long userId, Long taskId) {
+        return new TaskEvent(userId, Type.DELETED, taskId, null);
+    }
+}
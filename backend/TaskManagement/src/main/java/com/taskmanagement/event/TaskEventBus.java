@@ -0,0 +1,216 @@
+package com.taskmanagement.event;
+
+import com.taskmanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of {@link TaskEvent}s to the owner's SSE subscriptions.
+ *
+ * <p>Publishing never blocks: each subscription has a bounded buffer, and a subscriber whose
+ * buffer is full is disconnected instead of slowing down the writer or growing memory. It can
+ * reconnect and catch up through {@code GET /api/tasks/changes}. Buffers are drained on
+ * virtual threads, so a client with a slow socket only holds up its own stream.
+ */
+@Component
+public class TaskEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBus.class);
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<Long, Queue<Subscription>> subscriptionsByUser = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("task-events-", 0).factory());
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerUser;
+    private final long timeoutMillis;
+    private final Counter evicted;
+
+    public TaskEventBus(@Value("${app.tasks.events.buffer-size:256}") int bufferSize,
+                        @Value("${app.tasks.events.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${app.tasks.events.max-subscribers-per-user:5}") int maxSubscribersPerUser,
+                        @Value("${app.tasks.events.timeout-milliseconds:1800000}") long timeoutMillis,
+                        MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.timeoutMillis = timeoutMillis;
+        this.evicted = Counter.builder("task.events.evicted")
+                .description("Event subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("task.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open event streams, please retry shortly",
+                    RETRY_AFTER_SECONDS);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscriptions.add(subscription);
+        // Added inside compute so it cannot race with unregister dropping an emptied queue
+        Queue<Subscription> userSubscriptions = subscriptionsByUser.compute(userId, (key, existing) -> {
+            Queue<Subscription> queue = existing != null ? existing : new ConcurrentLinkedQueue<>();
+            queue.add(subscription);
+            return queue;
+        });
+
+        // A user reconnecting over and over replaces their oldest streams rather than piling up
+        while (userSubscriptions.size() > maxSubscribersPerUser) {
+            Subscription oldest = userSubscriptions.peek();
+            if (oldest == null || oldest == subscription) {
+                break;
+            }
+            close(oldest);
+            unregister(oldest);
+        }
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> close(subscription));
+        emitter.onError(error -> remove(subscription));
+        return emitter;
+    }
+
+    // Runs after the publishing transaction commits, or straight away when there is none
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(TaskEvent event) {
+        Queue<Subscription> userSubscriptions = subscriptionsByUser.get(event.userId());
+        if (userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            offer(subscription, event);
+        }
+    }
+
+    // Keeps idle connections open through proxies and surfaces clients that went away
+    @Scheduled(fixedRateString = "${app.tasks.events.heartbeat-milliseconds:30000}")
+    public void sendHeartbeats() {
+        for (Subscription subscription : subscriptions) {
+            offer(subscription, HEARTBEAT);
+        }
+    }
+
+    private void offer(Subscription subscription, Object item) {
+        if (subscription.buffer.offer(item)) {
+            scheduleDrain(subscription);
+        } else if (subscription.closed.compareAndSet(false, true)) {
+            evicted.increment();
+            logger.debug("Disconnecting slow task event subscriber for user {}", subscription.userId);
+            unregister(subscription);
+            subscription.emitter.completeWithError(new IOException("Task event buffer overflow"));
+        }
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        do {
+            Object item;
+            while (!subscription.closed.get() && (item = subscription.buffer.poll()) != null) {
+                try {
+                    send(subscription.emitter, item);
+                } catch (IOException | IllegalStateException e) {
+                    remove(subscription);
+                    return;
+                }
+            }
+            subscription.draining.set(false);
+            // Re-check: an item offered after the loop ended but before the flag was cleared
+        } while (!subscription.buffer.isEmpty() && !subscription.closed.get()
+                && subscription.draining.compareAndSet(false, true));
+    }
+
+    private void send(SseEmitter emitter, Object item) throws IOException {
+        if (item == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        TaskEvent event = (TaskEvent) item;
+        emitter.send(SseEmitter.event()
+                .name(event.type().name().toLowerCase(Locale.ROOT))
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    private void close(Subscription subscription) {
+        if (subscription.closed.compareAndSet(false, true)) {
+            unregister(subscription);
+            subscription.emitter.complete();
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscription.closed.set(true);
+        unregister(subscription);
+    }
+
+    private void unregister(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscriptionsByUser.computeIfPresent(subscription.userId, (userId, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptions.forEach(this::close);
+        dispatcher.shutdown();
+    }
+
+    private static final class Subscription {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(Long userId, SseEmitter emitter, BlockingQueue<Object> buffer) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
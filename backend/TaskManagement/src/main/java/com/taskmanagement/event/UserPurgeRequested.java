@@ -0,0 +1,5 @@
+package com.taskmanagement.event;
+
+// Published when a user's deletion is handed to the background purge
+public record UserPurgeRequested(Long userId) {
+}
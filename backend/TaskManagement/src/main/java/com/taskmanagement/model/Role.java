@@ -2,6 +2,9 @@ package com.taskmanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Getter
 @Setter
@@ -10,6 +13,10 @@ import lombok.*;
 @Builder
 @Entity
 @Table(name = "roles")
+// Roles are only ever created, never edited, which is what lets them use a read-only cache region
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class Role {
     
     @Id
@@ -2,7 +2,11 @@ package com.taskmanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Getter
@@ -11,11 +15,26 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // deleted follows user_id because @SQLRestriction adds "deleted = false" to every entity query
+        @Index(name = "idx_tasks_user_deleted_status_due_id", columnList = "user_id, deleted, status, due_date, id"),
+        @Index(name = "idx_tasks_user_deleted_due_id", columnList = "user_id, deleted, due_date, id"),
+        // Backs the delta sync; InnoDB appends the primary key, so (updated_at, id) keysets are range scans
+        @Index(name = "idx_tasks_user_updated", columnList = "user_id, updated_at"),
+        // Live tasks only, for the list ETag; the sync index above must keep tombstones in updated_at order
+        @Index(name = "idx_tasks_user_deleted_updated", columnList = "user_id, deleted, updated_at"),
+        // For the tombstone purge, which runs across all users
+        @Index(name = "idx_tasks_deleted_updated", columnList = "deleted, updated_at")
+})
+// Deleted tasks stay behind as tombstones for sync clients; entity and JPQL queries never see them
+@SQLRestriction("deleted = false")
 public class Task {
     
+    // Sequence-style ids (table-backed on MySQL) are allocated in blocks, which lets Hibernate
+    // batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -31,6 +50,23 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status;
     
+    // Optimistic-locking version, also the basis of the task's ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
+    // Bulk JPQL updates bypass these annotations and set updatedAt themselves
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+    
+    @Column(nullable = false)
+    private boolean deleted;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
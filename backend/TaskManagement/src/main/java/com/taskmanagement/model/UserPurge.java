@@ -0,0 +1,61 @@
+package com.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Progress of a background user deletion; kept after completion so its status can still be read
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+// Matches the claim poll: unfinished purges whose lease is missing or expired
+@Table(name = "user_purges", indexes = {
+        @Index(name = "idx_user_purges_claim", columnList = "completed_at, lease_until")
+})
+public class UserPurge {
+
+    // Not a foreign key: the record outlives the user it describes
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PurgeStatus status;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "tasks_deleted", nullable = false)
+    private long tasksDeleted;
+
+    @Column(name = "requested_at", nullable = false)
+    private Instant requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    // The worker holding the purge renews this with every batch; once it lapses another may resume it
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    // Random token of the claim that set the lease, checked by every later update of that worker
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public enum PurgeStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED
+    }
+}
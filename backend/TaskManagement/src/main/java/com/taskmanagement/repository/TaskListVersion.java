@@ -0,0 +1,9 @@
+package com.taskmanagement.repository;
+
+import java.time.Instant;
+
+// Fingerprint of a user's task list, used for list ETags
+public interface TaskListVersion {
+    Long getCount();
+    Instant getLastUpdated();
+}
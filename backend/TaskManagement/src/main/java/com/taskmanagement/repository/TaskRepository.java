@@ -1,11 +1,193 @@
 package com.taskmanagement.repository;
 
+import com.taskmanagement.dto.TaskDto;
 import com.taskmanagement.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     List<Task> findByUserId(Long userId);
-    void deleteByUserId(Long userId);
+
+    // Read-only list projections: DTOs straight from the selected columns, nothing enters the
+    // persistence context. The fetch size only applies on MySQL with useCursorFetch=true.
+    @Query("select new com.taskmanagement.dto.TaskDto(t.id, t.title, t.description, t.dueDate, t.status, t.version) " +
+            "from Task t where t.user.id = :userId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<TaskDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.taskmanagement.dto.TaskDto(t.id, t.title, t.description, t.dueDate, t.status, t.version) " +
+            "from Task t")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<TaskDto> findAllDtos();
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Ownership-scoped operations: the owner check happens in the same statement as the read/write
+    Optional<Task> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("update Task t set t.title = :title, t.description = :description, t.dueDate = :dueDate, " +
+            "t.status = :status, t.version = t.version + 1, t.updatedAt = :now " +
+            "where t.id = :id and t.user.id = :userId and t.deleted = false")
+    int updateByIdAndUserId(@Param("id") Long id,
+                            @Param("userId") Long userId,
+                            @Param("title") String title,
+                            @Param("description") String description,
+                            @Param("dueDate") LocalDate dueDate,
+                            @Param("status") Task.TaskStatus status,
+                            @Param("now") Instant now);
+
+    // Conditional variant of updateByIdAndUserId: only applies if the task is still at one of the
+    // expected versions (If-Match may list several)
+    @Modifying
+    @Query("update Task t set t.title = :title, t.description = :description, t.dueDate = :dueDate, " +
+            "t.status = :status, t.version = t.version + 1, t.updatedAt = :now " +
+            "where t.id = :id and t.user.id = :userId and t.version in :versions and t.deleted = false")
+    int updateByIdAndUserIdAndVersionIn(@Param("id") Long id,
+                                        @Param("userId") Long userId,
+                                        @Param("title") String title,
+                                        @Param("description") String description,
+                                        @Param("dueDate") LocalDate dueDate,
+                                        @Param("status") Task.TaskStatus status,
+                                        @Param("versions") Collection<Long> versions,
+                                        @Param("now") Instant now);
+
+    @Query("select t.version from Task t where t.id = :id and t.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Changes whenever one of the user's tasks is created, updated (both move updated_at) or deleted
+    // (count). Read from idx_tasks_user_deleted_updated without touching the rows; the count still
+    // walks the user's index entries, but the max is a single lookup.
+    @Query("select count(t) as count, max(t.updatedAt) as lastUpdated from Task t where t.user.id = :userId")
+    TaskListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    // Deletes leave a tombstone behind so delta sync can report them
+    @Modifying
+    @Query("update Task t set t.deleted = true, t.version = t.version + 1, t.updatedAt = :now " +
+            "where t.id = :id and t.user.id = :userId and t.deleted = false")
+    int softDeleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("now") Instant now);
+
+    // Batch operations, all scoped to the owner
+    List<Task> findByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Query("select t.id from Task t where t.id in :ids and t.user.id = :userId")
+    List<Long> findOwnedIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("update Task t set t.deleted = true, t.version = t.version + 1, t.updatedAt = :now " +
+            "where t.id in :ids and t.user.id = :userId and t.deleted = false")
+    int softDeleteByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                                  @Param("now") Instant now);
+
+    // Live task counts for a page of users, one grouped query over the user_id-leading indexes
+    @Query("select t.user.id as userId, count(t) as taskCount from Task t " +
+            "where t.user.id in :userIds group by t.user.id")
+    List<UserTaskCount> countByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.updatedAt = :now " +
+            "where t.id in :ids and t.user.id = :userId and t.deleted = false")
+    int updateStatusByIdInAndUserId(@Param("ids") Collection<Long> ids,
+                                    @Param("userId") Long userId,
+                                    @Param("status") Task.TaskStatus status,
+                                    @Param("now") Instant now);
+
+    // Delta sync: live tasks and tombstones changed after the (updatedAt, id) cursor, in cursor order.
+    // Native so tombstones are not filtered out; until keeps rows from transactions that may still commit.
+    @Query(value = "select * from tasks t where t.user_id = :userId " +
+            "and (t.updated_at > :since or (t.updated_at = :since and t.id > :lastId)) " +
+            "and t.updated_at <= :until and (:includeDeleted = true or t.deleted = false) " +
+            "order by t.updated_at, t.id limit :limit", nativeQuery = true)
+    List<Task> findChangesByUserId(@Param("userId") Long userId,
+                                   @Param("since") Instant since,
+                                   @Param("lastId") long lastId,
+                                   @Param("until") Instant until,
+                                   @Param("includeDeleted") boolean includeDeleted,
+                                   @Param("limit") int limit);
+
+    // Tombstones past the retention window, oldest first. A range scan of idx_tasks_deleted_updated
+    // in index order (InnoDB appends the id), so each batch stops after :limit rows without a sort.
+    @Query(value = "select t.id from tasks t where t.deleted = true and t.updated_at < :cutoff " +
+            "order by t.updated_at, t.id limit :limit", nativeQuery = true)
+    List<Long> findTombstoneIds(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    // Native DML names the tables it touches; otherwise Hibernate assumes it may have changed
+    // anything and invalidates every cache region and cached query
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "delete from tasks where id in :ids and deleted = true", nativeQuery = true)
+    int deleteTombstones(@Param("ids") Collection<Long> ids);
+
+    // Set-based deletes for removing a user: one statement over the user_id index, tombstones
+    // included, instead of loading and removing every task entity
+    @Query(value = "select count(*) from tasks where user_id = :userId", nativeQuery = true)
+    long countAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "delete from tasks where user_id = :userId", nativeQuery = true)
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    // One bounded chunk for the background purge, so each transaction locks few rows
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "delete from tasks where user_id = :userId limit :limit", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // Gives rows created before the timestamp columns existed a starting point for sync
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "update tasks set created_at = coalesce(created_at, :now), updated_at = coalesce(updated_at, :now) " +
+            "where created_at is null or updated_at is null", nativeQuery = true)
+    int backfillTimestamps(@Param("now") Instant now);
+
+    // Moves the table-backed id sequence past ids handed out while tasks still used IDENTITY
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_seq"))
+    @Query(value = "update tasks_seq set next_val = (select coalesce(max(id), 0) + 1 from tasks) " +
+            "where next_val <= (select coalesce(max(id), 0) from tasks)", nativeQuery = true)
+    int alignIdSequence();
+
+    // Ranked full-text match over the FULLTEXT index created by DatabaseInitializer (MySQL only);
+    // query is in boolean mode, e.g. "+deploy* +api*"
+    @Query(value = "select * from tasks t where t.user_id = :userId and t.deleted = false " +
+            "and match(t.title, t.description) against (:query in boolean mode) " +
+            "order by match(t.title, t.description) against (:query in boolean mode) desc, t.id desc " +
+            "limit :limit offset :offset", nativeQuery = true)
+    List<Task> searchByUserId(@Param("userId") Long userId, @Param("query") String query,
+                              @Param("limit") int limit, @Param("offset") long offset);
+
+    // Counts per status in a single pass; answered from idx_tasks_user_deleted_status_due_id alone
+    @Query("select t.status as status, count(t) as total, " +
+            "sum(case when t.dueDate < :today then 1 else 0 end) as overdue, " +
+            "sum(case when t.dueDate between :weekStart and :weekEnd then 1 else 0 end) as dueThisWeek " +
+            "from Task t where t.user.id = :userId group by t.status")
+    List<TaskStatusStats> countByStatusForUser(@Param("userId") Long userId,
+                                               @Param("today") LocalDate today,
+                                               @Param("weekStart") LocalDate weekStart,
+                                               @Param("weekEnd") LocalDate weekEnd);
+
+    @Query("select t.status as status, count(t) as total, " +
+            "sum(case when t.dueDate < :today then 1 else 0 end) as overdue, " +
+            "sum(case when t.dueDate between :weekStart and :weekEnd then 1 else 0 end) as dueThisWeek " +
+            "from Task t group by t.status")
+    List<TaskStatusStats> countByStatus(@Param("today") LocalDate today,
+                                        @Param("weekStart") LocalDate weekStart,
+                                        @Param("weekEnd") LocalDate weekEnd);
 }
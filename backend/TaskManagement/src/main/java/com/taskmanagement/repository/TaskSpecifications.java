@@ -0,0 +1,56 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Predicates for keyset-paginated task queries. They line up with the
+ * (user_id, status, due_date, id) and (user_id, due_date, id) indexes on {@link Task},
+ * so a page is always a range scan that starts at the cursor instead of an OFFSET.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> hasStatus(Task.TaskStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    // Rows after the given id when ordering by id ascending
+    public static Specification<Task> idAfter(Long lastId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), lastId);
+    }
+
+    // Rows after (lastDueDate, lastId) when ordering by due date then id ascending.
+    // MySQL sorts NULL due dates first, so a null cursor date means we are still inside
+    // the undated block and every dated task comes after it.
+    public static Specification<Task> dueDateAfter(LocalDate lastDueDate, Long lastId) {
+        return (root, query, cb) -> {
+            if (lastDueDate == null) {
+                return cb.or(
+                        cb.and(cb.isNull(root.get("dueDate")), cb.greaterThan(root.get("id"), lastId)),
+                        cb.isNotNull(root.get("dueDate"))
+                );
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("dueDate"), lastDueDate),
+                    cb.and(cb.equal(root.get("dueDate"), lastDueDate), cb.greaterThan(root.get("id"), lastId))
+            );
+        };
+    }
+}
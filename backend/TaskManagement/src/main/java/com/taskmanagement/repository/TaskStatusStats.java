@@ -0,0 +1,11 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.Task;
+
+// One row per status from the task statistics query
+public interface TaskStatusStats {
+    Task.TaskStatus getStatus();
+    Long getTotal();
+    Long getOverdue();
+    Long getDueThisWeek();
+}
@@ -0,0 +1,13 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.dto.UserDto;
+import com.taskmanagement.model.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Custom fragment of UserRepository: Specification queries that select UserDto columns only
+public interface UserDirectoryQueries {
+    List<UserDto> findUserDtos(Specification<User> specification, Sort sort, int limit);
+}
@@ -0,0 +1,52 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.UserPurge;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface UserPurgeRepository extends JpaRepository<UserPurge, Long> {
+
+    // Unfinished purges nobody holds a live lease on, oldest first
+    @Query("select p.userId from UserPurge p where p.completedAt is null " +
+            "and (p.leaseUntil is null or p.leaseUntil < :now) order by p.requestedAt")
+    List<Long> findClaimableUserIds(@Param("now") Instant now, Limit limit);
+
+    // Conditional update, so only one instance wins a purge even when several poll at once. The
+    // owner token lets the winner tell, batch by batch, whether it still holds the purge.
+    @Transactional
+    @Modifying
+    @Query("update UserPurge p set p.status = :status, p.leaseOwner = :owner, p.leaseUntil = :leaseUntil, " +
+            "p.updatedAt = :now " +
+            "where p.userId = :userId and p.completedAt is null and (p.leaseUntil is null or p.leaseUntil < :now)")
+    int claim(@Param("userId") Long userId, @Param("status") UserPurge.PurgeStatus status,
+              @Param("owner") String owner, @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    // Updates nothing once another instance has taken the purge over
+    @Modifying
+    @Query("update UserPurge p set p.tasksDeleted = p.tasksDeleted + :deleted, p.leaseUntil = :leaseUntil, " +
+            "p.updatedAt = :now, p.lastError = null where p.userId = :userId and p.leaseOwner = :owner")
+    int recordProgress(@Param("userId") Long userId, @Param("owner") String owner, @Param("deleted") int deleted,
+                       @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    @Modifying
+    @Query("update UserPurge p set p.status = :status, p.leaseOwner = null, p.leaseUntil = null, " +
+            "p.updatedAt = :now, p.completedAt = :now where p.userId = :userId and p.leaseOwner = :owner")
+    int complete(@Param("userId") Long userId, @Param("owner") String owner,
+                 @Param("status") UserPurge.PurgeStatus status, @Param("now") Instant now);
+
+    // Hands the purge back for the next poll to retry, unless another instance already took it over
+    @Transactional
+    @Modifying
+    @Query("update UserPurge p set p.status = :status, p.leaseOwner = null, p.leaseUntil = null, " +
+            "p.updatedAt = :now, p.lastError = :error where p.userId = :userId and p.leaseOwner = :owner")
+    int release(@Param("userId") Long userId, @Param("owner") String owner,
+                @Param("status") UserPurge.PurgeStatus status, @Param("error") String error,
+                @Param("now") Instant now);
+}
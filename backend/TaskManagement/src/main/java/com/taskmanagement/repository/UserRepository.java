@@ -1,14 +1,54 @@
 package com.taskmanagement.repository;
 
+import com.taskmanagement.dto.UserDto;
 import com.taskmanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserDirectoryQueries {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     Optional<User> findByUsernameOrEmail(String username, String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    // Only the listed columns; roles are neither needed nor loaded
+    @Query("select new com.taskmanagement.dto.UserDto(u.id, u.name, u.username, u.email, u.active) from User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    List<UserDto> findAllDtos();
+
+    // Roles for a whole page of users in one query instead of one per user
+    @Query("select u.id as userId, r.name as roleName from User u join u.roles r where u.id in :userIds")
+    List<UserRoleName> findRoleNamesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("select u.tokenVersion from User u where u.id = :id and u.active = true")
+    Optional<Integer> findActiveTokenVersionById(@Param("id") Long id);
+
+    // Unlinks the user's roles before the user row goes. The spaces hint scopes the eviction to
+    // the users' role collections instead of every cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_roles"))
+    @Query(value = "delete from user_roles where user_id = :userId", nativeQuery = true)
+    int deleteRoleLinksByUserId(@Param("userId") Long userId);
+
+    // Set-based removal of the user row. Removing the entity would cascade (CascadeType.ALL)
+    // to the Role rows every other user shares.
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteUserById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
 }
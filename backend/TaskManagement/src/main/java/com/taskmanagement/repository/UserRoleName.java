@@ -0,0 +1,7 @@
+package com.taskmanagement.repository;
+
+// One row per (user, role) pair
+public interface UserRoleName {
+    Long getUserId();
+    String getRoleName();
+}
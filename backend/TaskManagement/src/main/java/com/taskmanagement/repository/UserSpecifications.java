@@ -0,0 +1,55 @@
+package com.taskmanagement.repository;
+
+import com.taskmanagement.model.AuthProvider;
+import com.taskmanagement.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters and keyset predicates for the admin user directory. Sorting is always by one
+ * column plus id, so the cursor predicates line up with the username, email and
+ * (name, id) indexes on {@link User}.
+ */
+public final class UserSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> isActive(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    public static Specification<User> hasProvider(AuthProvider provider) {
+        return (root, query, cb) -> cb.equal(root.get("provider"), provider);
+    }
+
+    // Prefix match on username, email or name. No lower(): MySQL's default collations already
+    // compare case-insensitively, and a bare LIKE 'abc%' can use each column's index.
+    public static Specification<User> matchesPrefix(String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("username"), pattern, LIKE_ESCAPE),
+                cb.like(root.get("email"), pattern, LIKE_ESCAPE),
+                cb.like(root.get("name"), pattern, LIKE_ESCAPE)
+        );
+    }
+
+    // Rows after the given id in id order
+    public static Specification<User> idAfter(Long lastId, boolean descending) {
+        return (root, query, cb) -> descending
+                ? cb.lessThan(root.get("id"), lastId)
+                : cb.greaterThan(root.get("id"), lastId);
+    }
+
+    // Rows after (lastValue, lastId) when ordering by the given column then id
+    public static Specification<User> after(String field, String lastValue, Long lastId, boolean descending) {
+        return (root, query, cb) -> descending
+                ? cb.or(
+                        cb.lessThan(root.get(field), lastValue),
+                        cb.and(cb.equal(root.get(field), lastValue), cb.lessThan(root.get("id"), lastId)))
+                : cb.or(
+                        cb.greaterThan(root.get(field), lastValue),
+                        cb.and(cb.equal(root.get(field), lastValue), cb.greaterThan(root.get("id"), lastId)));
+    }
+}
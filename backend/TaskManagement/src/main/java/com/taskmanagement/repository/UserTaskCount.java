@@ -0,0 +1,6 @@
+package com.taskmanagement.repository;
+
+public interface UserTaskCount {
+    Long getUserId();
+    Long getTaskCount();
+}
@@ -0,0 +1,82 @@
+package com.taskmanagement.security;
+
+import com.taskmanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles authentication attempts per client IP and per account, so credential stuffing is
+ * turned away before it costs a user lookup or a BCrypt verification.
+ *
+ * <p>Account attempts are charged up front, so parallel guesses cannot all get in before the
+ * first one fails, and refunded when the login succeeds. Only failed logins use up the
+ * account's budget, and someone who merely knows a username cannot lock its owner out by
+ * logging in.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter accountLimiter;
+    private final Counter ipRejected;
+    private final Counter accountRejected;
+
+    public AuthRateLimiter(@Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.security.rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${app.security.rate-limit.ip.refill-period-seconds:60}") long ipRefillSeconds,
+                           @Value("${app.security.rate-limit.account.capacity:5}") int accountCapacity,
+                           @Value("${app.security.rate-limit.account.refill-period-seconds:60}") long accountRefillSeconds,
+                           @Value("${app.security.rate-limit.max-keys:100000}") long maxKeys,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ipLimiter = new TokenBucketLimiter(ipCapacity, Duration.ofSeconds(ipRefillSeconds), maxKeys);
+        this.accountLimiter = new TokenBucketLimiter(accountCapacity, Duration.ofSeconds(accountRefillSeconds), maxKeys);
+        this.ipRejected = rejectedCounter(meterRegistry, "ip");
+        this.accountRejected = rejectedCounter(meterRegistry, "account");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.rate.limited")
+                .description("Authentication attempts rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    public void checkIp(String ip) {
+        check(ipLimiter, ip, ipRejected);
+    }
+
+    public void checkAccount(String usernameOrEmail) {
+        check(accountLimiter, accountKey(usernameOrEmail), accountRejected);
+    }
+
+    public void refundAccount(String usernameOrEmail) {
+        if (enabled) {
+            accountLimiter.refund(accountKey(usernameOrEmail));
+        }
+    }
+
+    private static String accountKey(String usernameOrEmail) {
+        return usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void check(TokenBucketLimiter limiter, String key, Counter rejected) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new TooManyRequestsException("Too many authentication attempts, please retry later",
+                    retryAfterSeconds);
+        }
+    }
+}
@@ -2,23 +2,25 @@ package com.taskmanagement.security;
 
 import com.taskmanagement.model.User;
 import com.taskmanagement.repository.UserRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-import java.util.stream.Collectors;
-
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final Counter rehashed;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.rehashed = Counter.builder("auth.password.rehashed")
+                .description("Stored password hashes rewritten with the configured BCrypt cost on login")
+                .register(meterRegistry);
     }
 
     @Override
@@ -27,19 +29,17 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> 
                     new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
 
-        Set<GrantedAuthority> authorities = user.getRoles()
-                .stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
-                .collect(Collectors.toSet());
+        // UserPrincipal carries the user id, so controllers don't need another lookup to get it
+        return UserPrincipal.create(user);
+    }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.isActive(),
-                true,
-                true,
-                true,
-                authorities
-        );
+    // Called by the authentication provider after a successful login when the stored hash
+    // was made with a different cost than the configured encoder
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        rehashed.increment();
+        // Rare (once per user per cost change), so just reload rather than copy the principal
+        return loadUserByUsername(user.getUsername());
     }
 }
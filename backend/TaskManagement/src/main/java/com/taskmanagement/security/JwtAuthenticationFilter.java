@@ -1,29 +1,39 @@
 package com.taskmanagement.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionCache tokenVersionCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+    // When enabled, the principal is built from token claims and only the token version is checked
+    @Value("${app.jwt.stateless-auth:false}")
+    private boolean statelessAuth;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   PrincipalCache principalCache,
+                                   TokenVersionCache tokenVersionCache) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
     @Override
@@ -35,14 +45,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Get JWT from http request
         String token = getTokenFromRequest(request);
 
-        // Validate token
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            // Get username from token
-            String username = jwtTokenProvider.getUsername(token);
+        // Validate token and read its claims in a single parse
+        Optional<Claims> claims = StringUtils.hasText(token)
+                ? jwtTokenProvider.validateAndGetClaims(token)
+                : Optional.empty();
 
-            // Load user associated with token
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        UserDetails userDetails = claims.map(this::resolvePrincipal).orElse(null);
 
+        if (userDetails != null && userDetails.isEnabled()) {
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
@@ -57,6 +67,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(Claims claims) {
+        if (statelessAuth) {
+            Optional<UserPrincipal> principal = jwtTokenProvider.getPrincipal(claims);
+            if (principal.isPresent()) {
+                UserPrincipal userPrincipal = principal.get();
+                return tokenVersionCache.isCurrent(userPrincipal.getId(), userPrincipal.getTokenVersion())
+                        ? userPrincipal
+                        : null;
+            }
+        }
+
+        // Load user associated with token, from the principal cache when possible
+        return principalCache.getOrLoad(claims.getSubject());
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
@@ -1,14 +1,24 @@
 package com.taskmanagement.security;
 
+import com.taskmanagement.config.CacheConfig;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
@@ -16,54 +26,131 @@ import org.slf4j.LoggerFactory;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private static final String VALIDATION_TIMER = "jwt.validation";
+    private static final String GENERATION_TIMER = "jwt.generation";
+
     @Value("${app.jwt-secret}")
     private String jwtSecret;
 
     @Value("${app.jwt-expiration-milliseconds}")
     private long jwtExpirationDate;
 
+    private final Cache verifiedTokens;
+
+    // One timer per outcome, registered up front so the request path never looks meters up
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer invalidTimer;
+    private final Timer generationTimer;
+
+    // Derived once at startup; both are immutable and safe to share across request threads
+    private SecretKey key;
+    private JwtParser parser;
+
+    public JwtTokenProvider(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.verifiedTokens = cacheManager.getCache(CacheConfig.VERIFIED_TOKEN_CACHE);
+        this.cachedTimer = validationTimer(meterRegistry, "cached");
+        this.verifiedTimer = validationTimer(meterRegistry, "verified");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
+        this.generationTimer = Timer.builder(GENERATION_TIMER)
+                .description("Time to build and sign a JWT")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder(VALIDATION_TIMER)
+                .description("Time to validate a JWT and read its claims")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
     // Generate JWT token
     public String generateToken(UserDetails userDetails) {
+        return generationTimer.record(() -> buildToken(userDetails));
+    }
+
+    private String buildToken(UserDetails userDetails) {
         Date currentDate = new Date();
         Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(currentDate)
-                .setExpiration(expireDate)
-                .signWith(key())
-                .compact();
-    }
+                .setExpiration(expireDate);
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
+        // Embed what stateless authentication needs to rebuild the principal without a user lookup
+        if (userDetails instanceof UserPrincipal userPrincipal && userPrincipal.getId() != null) {
+            List<String> roles = userPrincipal.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toList());
+            builder.claim(CLAIM_USER_ID, userPrincipal.getId())
+                    .claim(CLAIM_ROLES, roles)
+                    .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion());
+        }
 
-    // Get username from JWT token
-    public String getUsername(String token) {
-        return getClaim(token, Claims::getSubject);
+        return builder.signWith(key).compact();
     }
 
-    // Validate JWT token
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    // Rebuild the principal from verified claims; empty for tokens issued without the embedded claims
+    public Optional<UserPrincipal> getPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || tokenVersion == null || roles == null) {
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+        return Optional.of(UserPrincipal.fromClaims(userId, claims.getSubject(), tokenVersion, authorities));
     }
 
-    // Validate JWT token
-    public boolean validateToken(String token) {
+    // Verify the token once and return its claims, or empty if it is not valid.
+    // Recently verified tokens are served from a small cache so repeat callers skip the HMAC check.
+    public Optional<Claims> validateAndGetClaims(String token) {
+        long start = System.nanoTime();
+        Cache.ValueWrapper cached = verifiedTokens.get(token);
+        if (cached != null) {
+            Claims claims = (Claims) cached.get();
+            if (claims.getExpiration() == null || claims.getExpiration().after(new Date())) {
+                cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.of(claims);
+            }
+            verifiedTokens.evict(token);
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.error("JWT token is expired: expired at {}", claims.getExpiration());
+            return Optional.empty();
+        }
+
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parse(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(token, claims);
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(claims);
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -75,27 +162,26 @@ public class JwtTokenProvider {
         } catch (SignatureException e) {
             logger.error("JWT signature validation failed: {}", e.getMessage());
         }
-        return false;
+        invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.empty();
     }
 
-    private boolean isTokenExpired(String token) {
-        return getExpiration(token).before(new Date());
-    }
-
-    private Date getExpiration(String token) {
-        return getClaim(token, Claims::getExpiration);
+    // Get username from JWT token
+    public String getUsername(String token) {
+        return validateAndGetClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new MalformedJwtException("Invalid JWT token"));
     }
 
-    private <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaims(token);
-        return claimsResolver.apply(claims);
+    // Validate JWT token
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateAndGetClaims(token)
+                .map(claims -> claims.getSubject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
-    private Claims getAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Validate JWT token
+    public boolean validateToken(String token) {
+        return validateAndGetClaims(token).isPresent();
     }
 }
@@ -0,0 +1,81 @@
+package com.taskmanagement.security;
+
+import com.taskmanagement.config.CacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, TTL-evicting cache of resolved principals keyed by JWT subject (username),
+ * so authenticated requests don't go back to the user store on every call.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String LOAD_TIMER = "auth.principal.load";
+
+    private final Cache cache;
+    private final UserDetailsService userDetailsService;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    public PrincipalCache(CacheManager cacheManager, UserDetailsService userDetailsService,
+                          MeterRegistry meterRegistry) {
+        this.cache = cacheManager.getCache(CacheConfig.PRINCIPAL_CACHE);
+        this.userDetailsService = userDetailsService;
+        this.hitTimer = loadTimer(meterRegistry, "hit");
+        this.missTimer = loadTimer(meterRegistry, "miss");
+    }
+
+    private static Timer loadTimer(MeterRegistry meterRegistry, String cacheResult) {
+        return Timer.builder(LOAD_TIMER)
+                .description("Time to resolve the authenticated principal for a request")
+                .tag("cache", cacheResult)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public UserDetails getOrLoad(String username) {
+        long start = System.nanoTime();
+        Cache.ValueWrapper cached = cache.get(username);
+        if (cached != null) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return (UserDetails) cached.get();
+        }
+        // Failed lookups (unknown user) are timed as misses too; they cost the same round trip
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            cache.put(username, userDetails);
+            return userDetails;
+        } finally {
+            missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Evicts once the surrounding transaction commits, so a concurrent request cannot
+    // re-cache the pre-change state in between
+    public void evict(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(username);
+                }
+            });
+        } else {
+            cache.evict(username);
+        }
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskmanagement.security;
+
+import com.taskmanagement.config.CacheConfig;
+import com.taskmanagement.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Current token version per active user, used as the revocation check for stateless
+ * JWT authentication. A miss costs one single-column lookup instead of a full user load.
+ */
+@Component
+public class TokenVersionCache {
+
+    // Cached marker for users that are deleted or deactivated
+    private static final Integer REVOKED = -1;
+
+    private final Cache cache;
+    private final UserRepository userRepository;
+
+    public TokenVersionCache(CacheManager cacheManager, UserRepository userRepository) {
+        this.cache = cacheManager.getCache(CacheConfig.TOKEN_VERSION_CACHE);
+        this.userRepository = userRepository;
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = cache.get(userId, Integer.class);
+        if (current == null) {
+            current = userRepository.findActiveTokenVersionById(userId).orElse(REVOKED);
+            cache.put(userId, current);
+        }
+        return !REVOKED.equals(current) && current == tokenVersion;
+    }
+
+    // Evicts once the surrounding transaction commits, so the next check sees the bumped version
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(userId);
+                }
+            });
+        } else {
+            cache.evict(userId);
+        }
+    }
+}
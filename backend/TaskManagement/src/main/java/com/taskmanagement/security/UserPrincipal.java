@@ -18,6 +18,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
     private String username;
     private String password;
     private boolean active;
+    private int tokenVersion;
     private Collection<? extends GrantedAuthority> authorities;
     private Map<String, Object> attributes;
 
@@ -36,7 +37,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
                 .map(role -> new SimpleGrantedAuthority(role.getName()))
                 .collect(Collectors.toList());
 
-        return new UserPrincipal(
+        UserPrincipal userPrincipal = new UserPrincipal(
                 user.getId(),
                 user.getEmail(),
                 user.getName(),
@@ -45,6 +46,16 @@ public class UserPrincipal implements OAuth2User, UserDetails {
                 user.isActive(),
                 authorities
         );
+        userPrincipal.tokenVersion = user.getTokenVersion();
+        return userPrincipal;
+    }
+
+    // Principal rebuilt from verified JWT claims alone, without touching the user store
+    public static UserPrincipal fromClaims(Long id, String username, int tokenVersion,
+                                           Collection<? extends GrantedAuthority> authorities) {
+        UserPrincipal userPrincipal = new UserPrincipal(id, null, null, username, null, true, authorities);
+        userPrincipal.tokenVersion = tokenVersion;
+        return userPrincipal;
     }
 
     public static UserPrincipal create(User user, Map<String, Object> attributes) {
@@ -61,6 +72,10 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         return email;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     @Override
     public String getPassword() {
         return password;
@@ -4,7 +4,10 @@ import com.taskmanagement.dto.JwtAuthResponse;
 import com.taskmanagement.dto.LoginDto;
 import com.taskmanagement.dto.RegisterDto;
 
+import java.util.concurrent.CompletableFuture;
+
+// Both complete on the password hashing pool, off the request thread
 public interface AuthService {
-    String register(RegisterDto registerDto);
-    JwtAuthResponse login(LoginDto loginDto);
+    CompletableFuture<String> register(RegisterDto registerDto);
+    CompletableFuture<JwtAuthResponse> login(LoginDto loginDto);
 }
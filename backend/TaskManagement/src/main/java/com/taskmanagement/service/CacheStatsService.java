@@ -0,0 +1,9 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.CacheStatsDto;
+
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheStatsDto> getCacheStats();
+}
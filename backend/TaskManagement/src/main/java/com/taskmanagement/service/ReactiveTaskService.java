@@ -0,0 +1,11 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.dto.TaskDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTaskService {
+    Flux<TaskDto> getAllTasksByUserId(Long userId);
+    Mono<TaskDto> getTaskById(Long taskId, Long userId);
+    Flux<TaskDto> getAllTasks();
+}
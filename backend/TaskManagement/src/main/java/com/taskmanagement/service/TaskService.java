@@ -1,13 +1,37 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.dto.TaskBatchResponse;
+import com.taskmanagement.dto.TaskChangesResponse;
 import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.dto.TaskExportFormat;
+import com.taskmanagement.dto.TaskPageResponse;
+import com.taskmanagement.dto.TaskSearchResponse;
+import com.taskmanagement.dto.TaskStatsDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskService {
     TaskDto createTask(TaskDto taskDto, Long userId);
     List<TaskDto> getAllTasksByUserId(Long userId);
+    String getTaskListVersion(Long userId);
+    TaskPageResponse getTasksPageByUserId(Long userId, String status, LocalDate dueFrom, LocalDate dueTo,
+                                          String sortBy, String cursor, int size);
+    TaskChangesResponse getTaskChanges(Long userId, String since, int size);
+    TaskSearchResponse searchTasks(Long userId, String query, int page, int size);
+    TaskStatsDto getTaskStats(Long userId);
+    TaskStatsDto getAllTaskStats();
     TaskDto getTaskById(Long taskId, Long userId);
-    TaskDto updateTask(Long taskId, TaskDto taskDto, Long userId);
+    // expectedVersions: null for an unconditional update, otherwise the versions from If-Match
+    TaskDto updateTask(Long taskId, TaskDto taskDto, Long userId, Collection<Long> expectedVersions);
     void deleteTask(Long taskId, Long userId);
+    TaskBatchResponse createTasks(List<TaskDto> taskDtos, Long userId);
+    TaskBatchResponse updateTasks(List<TaskDto> taskDtos, Long userId);
+    TaskBatchResponse deleteTasks(List<Long> taskIds, Long userId);
+    TaskBatchResponse updateTasksStatus(List<Long> taskIds, String status, Long userId);
     List<TaskDto> getAllTasks();
+    void exportAllTasks(TaskExportFormat format, OutputStream outputStream) throws IOException;
 }
@@ -3,10 +3,16 @@ package com.taskmanagement.service;
 import java.util.List;
 
 import com.taskmanagement.dto.UserDto;
+import com.taskmanagement.dto.UserPageResponse;
+import com.taskmanagement.dto.UserPurgeDto;
 
 public interface UserService {
     List<UserDto> getAllUsers();
+    UserPageResponse getUsersPage(Boolean active, String provider, String query, String sortBy, String direction,
+                                  String cursor, int size, boolean includeTaskCounts);
     UserDto getUserById(Long id);
     void deactivateUser(Long id);
-    void deleteUser(Long id);
+    // True when the user is gone; false when they were deactivated and left to the background purge
+    boolean deleteUser(Long id);
+    UserPurgeDto getUserPurge(Long id);
 }
@@ -8,20 +8,27 @@ import com.taskmanagement.model.Role;
 import com.taskmanagement.model.User;
 import com.taskmanagement.repository.RoleRepository;
 import com.taskmanagement.repository.UserRepository;
+import com.taskmanagement.security.AuthRateLimiter;
 import com.taskmanagement.security.JwtTokenProvider;
+import com.taskmanagement.security.PasswordHashingExecutor;
+import com.taskmanagement.security.UserPrincipal;
 import com.taskmanagement.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthServiceImpl implements AuthService {
@@ -31,21 +38,44 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuthRateLimiter authRateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer authenticationSuccessTimer;
+    private final Timer authenticationFailureTimer;
 
     public AuthServiceImpl(UserRepository userRepository,
                           RoleRepository roleRepository,
                           PasswordEncoder passwordEncoder,
                           AuthenticationManager authenticationManager,
-                          JwtTokenProvider jwtTokenProvider) {
+                          JwtTokenProvider jwtTokenProvider,
+                          PasswordHashingExecutor passwordHashingExecutor,
+                          AuthRateLimiter authRateLimiter,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.authRateLimiter = authRateLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.authenticationSuccessTimer = authenticationTimer(meterRegistry, "success");
+        this.authenticationFailureTimer = authenticationTimer(meterRegistry, "failure");
+    }
+
+    // Covers the user lookup and the BCrypt comparison done by the authentication manager
+    private static Timer authenticationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.authentication")
+                .description("Time to check login credentials")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
-    public String register(RegisterDto registerDto) {
+    public CompletableFuture<String> register(RegisterDto registerDto) {
         // Check if username exists
         if(userRepository.existsByUsername(registerDto.getUsername())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username already exists");
@@ -56,44 +86,67 @@ public class AuthServiceImpl implements AuthService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already exists");
         }
 
-        User user = new User();
-        user.setName(registerDto.getName());
-        user.setUsername(registerDto.getUsername());
-        user.setEmail(registerDto.getEmail());
-        user.setPassword(passwordEncoder.encode(registerDto.getPassword()));
-        user.setActive(true);
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(registerDto.getPassword()))
+                .thenApply(encodedPassword -> saveUser(registerDto, encodedPassword));
+    }
 
-        Set<Role> roles = new HashSet<>();
-        Role userRole = roleRepository.findByName("ROLE_USER")
-                .orElseThrow(() -> new ResourceNotFoundException("Role", "name", "ROLE_USER"));
-        roles.add(userRole);
-        user.setRoles(roles);
+    // Runs on a hashing thread, outside the request's persistence context: the role must be
+    // loaded in the same transaction as the save, or cascading would see it as detached
+    private String saveUser(RegisterDto registerDto, String encodedPassword) {
+        return transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setName(registerDto.getName());
+            user.setUsername(registerDto.getUsername());
+            user.setEmail(registerDto.getEmail());
+            user.setPassword(encodedPassword);
+            user.setActive(true);
+
+            Set<Role> roles = new HashSet<>();
+            Role userRole = roleRepository.findByName("ROLE_USER")
+                    .orElseThrow(() -> new ResourceNotFoundException("Role", "name", "ROLE_USER"));
+            roles.add(userRole);
+            user.setRoles(roles);
+
+            userRepository.save(user);
+
+            return "User registered successfully";
+        });
+    }
 
-        userRepository.save(user);
+    @Override
+    public CompletableFuture<JwtAuthResponse> login(LoginDto loginDto) {
+        // Throttled before anything is queued for hashing
+        authRateLimiter.checkAccount(loginDto.getUsernameOrEmail());
 
-        return "User registered successfully";
+        // User lookup and BCrypt verification (plus any rehash) all run on the hashing pool
+        return passwordHashingExecutor.submit(() -> authenticate(loginDto));
     }
 
-    @Override
-    public JwtAuthResponse login(LoginDto loginDto) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginDto.getUsernameOrEmail(),
-                        loginDto.getPassword()
-                )
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtTokenProvider.generateToken(userDetails);
-        
-        User user = userRepository.findByUsernameOrEmail(userDetails.getUsername(), userDetails.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", userDetails.getUsername()));
-
-        boolean isAdmin = user.getRoles().stream()
-                .anyMatch(role -> role.getName().equals("ROLE_ADMIN"));
-
-        return new JwtAuthResponse(token, "Bearer", user.getId(), user.getUsername(), user.getEmail(), isAdmin);
+    private JwtAuthResponse authenticate(LoginDto loginDto) {
+        Timer.Sample sample = Timer.start();
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginDto.getUsernameOrEmail(),
+                            loginDto.getPassword()
+                    )
+            );
+            sample.stop(authenticationSuccessTimer);
+            authRateLimiter.refundAccount(loginDto.getUsernameOrEmail());
+        } catch (AuthenticationException e) {
+            sample.stop(authenticationFailureTimer);
+            throw e;
+        }
+
+        // The authenticated principal already carries id, email and roles, no second user lookup needed
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        String token = jwtTokenProvider.generateToken(userPrincipal);
+
+        boolean isAdmin = userPrincipal.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+
+        return new JwtAuthResponse(token, "Bearer", userPrincipal.getId(), userPrincipal.getUsername(),
+                userPrincipal.getEmail(), isAdmin);
     }
 }
@@ -0,0 +1,60 @@
+package com.taskmanagement.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanagement.dto.CacheStatsDto;
+import com.taskmanagement.service.CacheStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+
+    public CacheStatsServiceImpl(EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public List<CacheStatsDto> getCacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(regionName -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                stats.add(toDto(regionName, "hibernate", region.getHitCount(), region.getMissCount(),
+                        region.getElementCountInMemory()));
+            }
+        });
+
+        cacheManager.getCacheNames().stream().sorted().forEach(cacheName -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats cacheStats = caffeineCache.getNativeCache().stats();
+                stats.add(toDto(cacheName, "application", cacheStats.hitCount(), cacheStats.missCount(),
+                        caffeineCache.getNativeCache().estimatedSize()));
+            }
+        });
+
+        return stats;
+    }
+
+    private CacheStatsDto toDto(String name, String type, long hits, long misses, long size) {
+        long requests = hits + misses;
+        double hitRatio = requests == 0 ? 0.0 : (double) hits / requests;
+        return new CacheStatsDto(name, type, hits, misses, hitRatio, size);
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanagement.service.impl;
+
+import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.exception.ResourceNotFoundException;
+import com.taskmanagement.service.ReactiveTaskService;
+import io.r2dbc.spi.Row;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only counterpart of {@link TaskServiceImpl} over R2DBC. Reads the same {@code tasks}
+ * table and applies the same ownership rule: the owner is part of the WHERE clause, so
+ * another user's task is simply not found. Rows are emitted as the subscriber requests them.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private static final String SELECT_TASKS = "select id, title, description, due_date, status, version from tasks";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTaskServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<TaskDto> getAllTasksByUserId(Long userId) {
+        return databaseClient.sql(SELECT_TASKS + " where user_id = :userId and deleted = false order by id")
+                .bind("userId", userId)
+                .map((row, metadata) -> mapToDto(row))
+                .all();
+    }
+
+    @Override
+    public Mono<TaskDto> getTaskById(Long taskId, Long userId) {
+        return databaseClient.sql(SELECT_TASKS + " where id = :id and user_id = :userId and deleted = false")
+                .bind("id", taskId)
+                .bind("userId", userId)
+                .map((row, metadata) -> mapToDto(row))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task", "id", taskId)));
+    }
+
+    @Override
+    public Flux<TaskDto> getAllTasks() {
+        return databaseClient.sql(SELECT_TASKS + " where deleted = false order by id")
+                .map((row, metadata) -> mapToDto(row))
+                .all();
+    }
+
+    private TaskDto mapToDto(Row row) {
+        TaskDto taskDto = new TaskDto();
+        taskDto.setId(row.get("id", Long.class));
+        taskDto.setTitle(row.get("title", String.class));
+        taskDto.setDescription(row.get("description", String.class));
+        taskDto.setDueDate(row.get("due_date", LocalDate.class));
+        taskDto.setStatus(row.get("status", String.class));
+        taskDto.setVersion(row.get("version", Long.class));
+        return taskDto;
+    }
+}
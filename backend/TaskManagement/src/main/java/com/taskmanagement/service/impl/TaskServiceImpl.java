@@ -1,114 +1,658 @@
 package com.taskmanagement.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.dto.TaskBatchResponse;
+import com.taskmanagement.dto.TaskBatchResult;
+import com.taskmanagement.dto.TaskChangesResponse;
 import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.dto.TaskExportFormat;
+import com.taskmanagement.dto.TaskPageResponse;
+import com.taskmanagement.dto.TaskSearchResponse;
+import com.taskmanagement.dto.TaskStatsDto;
+import com.taskmanagement.event.TaskEvent;
+import com.taskmanagement.exception.BadRequestException;
+import com.taskmanagement.exception.PreconditionFailedException;
 import com.taskmanagement.exception.ResourceNotFoundException;
 import com.taskmanagement.model.Task;
 import com.taskmanagement.model.User;
+import com.taskmanagement.repository.TaskListVersion;
 import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.TaskSpecifications;
+import com.taskmanagement.repository.TaskStatusStats;
 import com.taskmanagement.repository.UserRepository;
 import com.taskmanagement.service.TaskService;
-import org.springframework.security.access.AccessDeniedException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String SORT_BY_ID = "id";
+    private static final String SORT_BY_DUE_DATE = "dueDate";
+    private static final Pattern SEARCH_TERM = Pattern.compile("[\\p{L}\\p{N}_]+");
+    private static final int MAX_SEARCH_TERMS = 10;
+    private static final String SYNC_CURSOR_PREFIX = "changes";
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.tasks.export-batch-size:500}")
+    private int exportBatchSize;
+
+    @Value("${app.tasks.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${app.jpa.batch-size:50}")
+    private int jdbcBatchSize;
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository) {
+    // Changes younger than this are held back until transactions that stamped them have committed
+    @Value("${app.tasks.sync.settle-milliseconds:2000}")
+    private long syncSettleMillis;
+
+    @Value("${app.tasks.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository,
+                           ObjectMapper objectMapper, Validator validator,
+                           ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public TaskDto createTask(TaskDto taskDto, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        // A reference proxy is enough to set the foreign key, no need to load the user and its roles
+        User user = userRepository.getReferenceById(userId);
 
         Task task = mapToEntity(taskDto);
         task.setUser(user);
         task.setStatus(Task.TaskStatus.valueOf(taskDto.getStatus()));
 
-        Task savedTask = taskRepository.save(task);
-        return mapToDto(savedTask);
+        try {
+            Task savedTask = taskRepository.saveAndFlush(task);
+            TaskDto savedDto = mapToDto(savedTask);
+            eventPublisher.publishEvent(TaskEvent.created(userId, savedDto));
+            return savedDto;
+        } catch (DataIntegrityViolationException e) {
+            // Only a missing user is a 404; any other constraint failure is not the client's lookup
+            if (!userRepository.existsById(userId)) {
+                throw new ResourceNotFoundException("User", "id", userId);
+            }
+            throw e;
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDto> getAllTasksByUserId(Long userId) {
-        // Check if user exists
-        userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        return taskRepository.findDtosByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getTaskListVersion(Long userId) {
+        TaskListVersion listVersion = taskRepository.findListVersionByUserId(userId);
+        Instant lastUpdated = listVersion.getLastUpdated();
+        long lastUpdatedMicros = lastUpdated == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, lastUpdated);
+        return listVersion.getCount() + "-" + lastUpdatedMicros;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponse getTasksPageByUserId(Long userId, String status, LocalDate dueFrom, LocalDate dueTo,
+                                                 String sortBy, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean byDueDate = SORT_BY_DUE_DATE.equals(sortBy);
+        if (!byDueDate && !SORT_BY_ID.equals(sortBy)) {
+            throw new BadRequestException("Unsupported sort '" + sortBy + "', expected 'id' or 'dueDate'");
+        }
+
+        List<Specification<Task>> filters = new ArrayList<>();
+        filters.add(TaskSpecifications.ownedBy(userId));
+        if (StringUtils.hasText(status)) {
+            filters.add(TaskSpecifications.hasStatus(parseStatus(status)));
+        }
+        if (dueFrom != null) {
+            filters.add(TaskSpecifications.dueOnOrAfter(dueFrom));
+        }
+        if (dueTo != null) {
+            filters.add(TaskSpecifications.dueOnOrBefore(dueTo));
+        }
+        if (StringUtils.hasText(cursor)) {
+            filters.add(cursorSpecification(cursor, byDueDate));
+        }
+
+        Sort sort = byDueDate ? Sort.by("dueDate", "id") : Sort.by("id");
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Task> tasks = taskRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(sort).limit(size + 1).all());
 
-        List<Task> tasks = taskRepository.findByUserId(userId);
-        return tasks.stream()
+        boolean hasNext = tasks.size() > size;
+        List<Task> pageTasks = hasNext ? tasks.subList(0, size) : tasks;
+        String nextCursor = hasNext ? encodeCursor(pageTasks.get(pageTasks.size() - 1), byDueDate) : null;
+
+        List<TaskDto> content = pageTasks.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
+        return new TaskPageResponse(content, content.size(), hasNext, nextCursor);
     }
 
     @Override
-    public TaskDto getTaskById(Long taskId, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getTaskChanges(Long userId, String since, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Instant now = now();
+        Instant until = now.minusMillis(syncSettleMillis);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        // No cursor, or one older than the tombstones we keep: start over from the live tasks only
+        Instant sinceTime = Instant.EPOCH;
+        long lastId = 0L;
+        boolean reset = true;
+        if (StringUtils.hasText(since)) {
+            SyncCursor cursor = decodeSyncCursor(since);
+            if (!cursor.updatedAt().isBefore(now.minus(Duration.ofDays(tombstoneRetentionDays)))) {
+                sinceTime = cursor.updatedAt();
+                lastId = cursor.id();
+                reset = false;
+            }
+        }
+
+        // Fetch one extra row to learn whether more changes are waiting
+        List<Task> tasks = taskRepository.findChangesByUserId(userId, sinceTime, lastId, until, !reset, size + 1);
+        boolean hasMore = tasks.size() > size;
+        List<Task> pageTasks = hasMore ? tasks.subList(0, size) : tasks;
 
-        // Check if the task belongs to the user
-        if (!task.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You do not have permission to access this task");
+        List<TaskDto> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Task task : pageTasks) {
+            if (task.isDeleted()) {
+                deleted.add(task.getId());
+            } else {
+                changed.add(mapToDto(task));
+            }
         }
 
-        return mapToDto(task);
+        // With nothing new the cursor moves up to the settled horizon, so it never ages past the retention
+        String nextCursor;
+        if (!pageTasks.isEmpty()) {
+            Task last = pageTasks.get(pageTasks.size() - 1);
+            nextCursor = encodeSyncCursor(last.getUpdatedAt(), last.getId());
+        } else if (until.isAfter(sinceTime)) {
+            nextCursor = encodeSyncCursor(until, 0L);
+        } else {
+            nextCursor = encodeSyncCursor(sinceTime, lastId);
+        }
+        return new TaskChangesResponse(reset, changed, deleted, hasMore, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResponse searchTasks(Long userId, String query, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new BadRequestException("Page must not be negative");
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Task> tasks = taskRepository.searchByUserId(userId, toBooleanModeQuery(query), size + 1,
+                (long) page * size);
+
+        boolean hasNext = tasks.size() > size;
+        List<TaskDto> content = (hasNext ? tasks.subList(0, size) : tasks).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+        return new TaskSearchResponse(content, page, content.size(), hasNext);
     }
 
     @Override
-    public TaskDto updateTask(Long taskId, TaskDto taskDto, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    @Transactional(readOnly = true)
+    public TaskStatsDto getTaskStats(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        return toStatsDto(taskRepository.countByStatusForUser(userId, today, weekStart, weekStart.plusDays(6)), today);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStatsDto getAllTaskStats() {
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        return toStatsDto(taskRepository.countByStatus(today, weekStart, weekStart.plusDays(6)), today);
+    }
 
-        Task task = taskRepository.findById(taskId)
+    @Override
+    @Transactional(readOnly = true)
+    public TaskDto getTaskById(Long taskId, Long userId) {
+        // Ownership is part of the WHERE clause, so a task owned by someone else is simply not found
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
 
-        // Check if the task belongs to the user
-        if (!task.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You do not have permission to update this task");
+        return mapToDto(task);
+    }
+
+    @Override
+    @Transactional
+    public TaskDto updateTask(Long taskId, TaskDto taskDto, Long userId, Collection<Long> expectedVersions) {
+        Task.TaskStatus status = Task.TaskStatus.valueOf(taskDto.getStatus());
+
+        if (expectedVersions == null) {
+            int updated = taskRepository.updateByIdAndUserId(taskId, userId, taskDto.getTitle(),
+                    taskDto.getDescription(), taskDto.getDueDate(), status, now());
+            if (updated == 0) {
+                throw new ResourceNotFoundException("Task", "id", taskId);
+            }
+        } else {
+            int updated = expectedVersions.isEmpty() ? 0
+                    : taskRepository.updateByIdAndUserIdAndVersionIn(taskId, userId, taskDto.getTitle(),
+                            taskDto.getDescription(), taskDto.getDueDate(), status, expectedVersions, now());
+            if (updated == 0) {
+                // Nothing matched: either the task is gone or someone else changed it first
+                if (taskRepository.findVersionByIdAndUserId(taskId, userId).isEmpty()) {
+                    throw new ResourceNotFoundException("Task", "id", taskId);
+                }
+                throw new PreconditionFailedException("Task " + taskId + " was modified by another request");
+            }
         }
 
-        task.setTitle(taskDto.getTitle());
-        task.setDescription(taskDto.getDescription());
-        task.setDueDate(taskDto.getDueDate());
-        task.setStatus(Task.TaskStatus.valueOf(taskDto.getStatus()));
+        // The updated row stays locked until commit, so this reads our own new version
+        long version = taskRepository.findVersionByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        return publishUpdated(userId, new TaskDto(taskId, taskDto.getTitle(), taskDto.getDescription(),
+                taskDto.getDueDate(), status.name(), version));
+    }
 
-        Task updatedTask = taskRepository.save(task);
-        return mapToDto(updatedTask);
+    // Events are only delivered if and when the surrounding transaction commits
+    private TaskDto publishUpdated(Long userId, TaskDto taskDto) {
+        eventPublisher.publishEvent(TaskEvent.updated(userId, taskDto.getId(), taskDto));
+        return taskDto;
     }
 
     @Override
+    @Transactional
     public void deleteTask(Long taskId, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        if (taskRepository.softDeleteByIdAndUserId(taskId, userId, now()) == 0) {
+            throw new ResourceNotFoundException("Task", "id", taskId);
+        }
+        eventPublisher.publishEvent(TaskEvent.deleted(userId, taskId));
+    }
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+    @Override
+    @Transactional
+    public TaskBatchResponse createTasks(List<TaskDto> taskDtos, Long userId) {
+        checkBatchSize(taskDtos.size());
+        User user = userRepository.getReferenceById(userId);
+
+        List<TaskBatchResult> results = new ArrayList<>(taskDtos.size());
+        int pending = 0;
+        for (int i = 0; i < taskDtos.size(); i++) {
+            TaskDto taskDto = taskDtos.get(i);
+            String error = validate(taskDto);
+            if (error != null) {
+                results.add(new TaskBatchResult(i, taskDto != null ? taskDto.getId() : null, false, error, null));
+                continue;
+            }
+
+            Task task = mapToEntity(taskDto);
+            task.setUser(user);
+            Task savedTask = taskRepository.save(task);
+            results.add(new TaskBatchResult(i, savedTask.getId(), true, null, mapToDto(savedTask)));
+
+            // Send inserts in JDBC-batch-sized groups and keep the persistence context small
+            if (++pending % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                user = userRepository.getReferenceById(userId);
+            }
+        }
+        for (TaskBatchResult result : results) {
+            if (result.isSuccess()) {
+                eventPublisher.publishEvent(TaskEvent.created(userId, result.getTask()));
+            }
+        }
+        return toBatchResponse(results);
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResponse updateTasks(List<TaskDto> taskDtos, Long userId) {
+        checkBatchSize(taskDtos.size());
 
-        // Check if the task belongs to the user
-        if (!task.getUser().getId().equals(userId)) {
-            throw new AccessDeniedException("You do not have permission to delete this task");
+        Set<Long> ids = new HashSet<>();
+        for (TaskDto taskDto : taskDtos) {
+            if (taskDto != null && taskDto.getId() != null) {
+                ids.add(taskDto.getId());
+            }
         }
+        // One owner-scoped query loads every task to update; dirty checking then flushes batched UPDATEs
+        Map<Long, Task> ownedTasks = ids.isEmpty() ? Map.of() : taskRepository.findByIdInAndUserId(ids, userId)
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
 
-        taskRepository.delete(task);
+        List<TaskBatchResult> results = new ArrayList<>(taskDtos.size());
+        for (int i = 0; i < taskDtos.size(); i++) {
+            TaskDto taskDto = taskDtos.get(i);
+            Long taskId = taskDto != null ? taskDto.getId() : null;
+            String error = taskDto != null && taskId == null ? "Task id should not be null" : validate(taskDto);
+            Task task = error == null ? ownedTasks.get(taskId) : null;
+            if (error == null && task == null) {
+                error = notFoundMessage(taskId);
+            }
+            if (error != null) {
+                results.add(new TaskBatchResult(i, taskId, false, error, null));
+                continue;
+            }
+
+            task.setTitle(taskDto.getTitle());
+            task.setDescription(taskDto.getDescription());
+            task.setDueDate(taskDto.getDueDate());
+            task.setStatus(Task.TaskStatus.valueOf(taskDto.getStatus()));
+            results.add(new TaskBatchResult(i, taskId, true, null, mapToDto(task)));
+        }
+
+        // Versions are only bumped when the UPDATEs are flushed; report the new ones
+        taskRepository.flush();
+        for (TaskBatchResult result : results) {
+            if (result.isSuccess()) {
+                result.getTask().setVersion(ownedTasks.get(result.getId()).getVersion());
+                eventPublisher.publishEvent(TaskEvent.updated(userId, result.getId(), result.getTask()));
+            }
+        }
+        return toBatchResponse(results);
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResponse deleteTasks(List<Long> taskIds, Long userId) {
+        checkBatchSize(taskIds.size());
+
+        Set<Long> ownedIds = findOwnedIds(taskIds, userId);
+        if (!ownedIds.isEmpty()) {
+            taskRepository.softDeleteByIdInAndUserId(ownedIds, userId, now());
+            ownedIds.forEach(taskId -> eventPublisher.publishEvent(TaskEvent.deleted(userId, taskId)));
+        }
+        return idBatchResponse(taskIds, ownedIds);
     }
 
     @Override
+    @Transactional
+    public TaskBatchResponse updateTasksStatus(List<Long> taskIds, String status, Long userId) {
+        checkBatchSize(taskIds.size());
+        if (!StringUtils.hasText(status)) {
+            throw new BadRequestException("Task status should not be null");
+        }
+        Task.TaskStatus taskStatus = parseStatus(status);
+
+        Set<Long> ownedIds = findOwnedIds(taskIds, userId);
+        if (!ownedIds.isEmpty()) {
+            taskRepository.updateStatusByIdInAndUserId(ownedIds, userId, taskStatus, now());
+            // The bulk update returns no rows, so these events carry only the id
+            ownedIds.forEach(taskId -> eventPublisher.publishEvent(TaskEvent.updated(userId, taskId, null)));
+        }
+        return idBatchResponse(taskIds, ownedIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<TaskDto> getAllTasks() {
-        List<Task> tasks = taskRepository.findAll();
-        return tasks.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return taskRepository.findAllDtos();
+    }
+
+    @Override
+    public void exportAllTasks(TaskExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == TaskExportFormat.CSV) {
+            writer.write("id,title,description,dueDate,status\n");
+        }
+
+        // Walk the table in id order one bounded batch at a time, clearing the persistence
+        // context after each batch so memory stays flat no matter how many tasks exist
+        long lastId = 0L;
+        List<Task> batch;
+        do {
+            batch = taskRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(exportBatchSize));
+            for (Task task : batch) {
+                TaskDto taskDto = mapToDto(task);
+                if (format == TaskExportFormat.CSV) {
+                    writeCsvRow(writer, taskDto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(taskDto));
+                    writer.write('\n');
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            entityManager.clear();
+            writer.flush();
+        } while (batch.size() == exportBatchSize);
+    }
+
+    private void writeCsvRow(Writer writer, TaskDto taskDto) throws IOException {
+        writer.write(String.valueOf(taskDto.getId()));
+        writer.write(',');
+        writer.write(csvField(taskDto.getTitle()));
+        writer.write(',');
+        writer.write(csvField(taskDto.getDescription()));
+        writer.write(',');
+        writer.write(taskDto.getDueDate() != null ? taskDto.getDueDate().toString() : "");
+        writer.write(',');
+        writer.write(taskDto.getStatus());
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void checkBatchSize(int size) {
+        if (size == 0 || size > maxBatchSize) {
+            throw new BadRequestException("Batch size must be between 1 and " + maxBatchSize);
+        }
+    }
+
+    // Same rules as the single-task endpoints, reported per item instead of failing the whole batch
+    private String validate(TaskDto taskDto) {
+        if (taskDto == null) {
+            return "Task should not be null";
+        }
+        Set<ConstraintViolation<TaskDto>> violations = validator.validate(taskDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            Task.TaskStatus.valueOf(taskDto.getStatus());
+        } catch (IllegalArgumentException e) {
+            return "Unknown task status: " + taskDto.getStatus();
+        }
+        return null;
+    }
+
+    private Set<Long> findOwnedIds(List<Long> taskIds, Long userId) {
+        Set<Long> requestedIds = taskIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return requestedIds.isEmpty() ? Set.of() : new HashSet<>(taskRepository.findOwnedIds(requestedIds, userId));
+    }
+
+    private TaskBatchResponse idBatchResponse(List<Long> taskIds, Set<Long> ownedIds) {
+        List<TaskBatchResult> results = new ArrayList<>(taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            if (taskId != null && ownedIds.contains(taskId)) {
+                results.add(new TaskBatchResult(i, taskId, true, null, null));
+            } else {
+                results.add(new TaskBatchResult(i, taskId, false, notFoundMessage(taskId), null));
+            }
+        }
+        return toBatchResponse(results);
+    }
+
+    private String notFoundMessage(Long taskId) {
+        return "Task not found with id : '" + taskId + "'";
+    }
+
+    private TaskBatchResponse toBatchResponse(List<TaskBatchResult> results) {
+        int succeeded = (int) results.stream().filter(TaskBatchResult::isSuccess).count();
+        return new TaskBatchResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    private TaskStatsDto toStatsDto(List<TaskStatusStats> rows, LocalDate today) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        long total = 0;
+        long overdue = 0;
+        long dueThisWeek = 0;
+        for (TaskStatusStats row : rows) {
+            byStatus.put(row.getStatus().name(), row.getTotal());
+            total += row.getTotal();
+            // Finished tasks are neither overdue nor still due
+            if (row.getStatus() != Task.TaskStatus.DONE) {
+                overdue += row.getOverdue();
+                dueThisWeek += row.getDueThisWeek();
+            }
+        }
+        return new TaskStatsDto(byStatus, total, overdue, dueThisWeek, today);
+    }
+
+    // Every word is required and matched as a prefix ("dep api" -> "+dep* +api*"). Only letters,
+    // digits and underscores are kept, so user input can never inject boolean-mode operators.
+    private String toBooleanModeQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = SEARCH_TERM.matcher(query == null ? "" : query);
+        while (matcher.find() && terms.size() < MAX_SEARCH_TERMS) {
+            terms.add("+" + matcher.group() + "*");
+        }
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one word");
+        }
+        return String.join(" ", terms);
+    }
+
+    private Task.TaskStatus parseStatus(String status) {
+        try {
+            return Task.TaskStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown task status: " + status);
+        }
+    }
+
+    // Cursor format (before Base64): "id:<id>" or "dueDate:<yyyy-MM-dd or empty>:<id>"
+    private String encodeCursor(Task last, boolean byDueDate) {
+        String raw = byDueDate
+                ? SORT_BY_DUE_DATE + ":" + (last.getDueDate() != null ? last.getDueDate() : "") + ":" + last.getId()
+                : SORT_BY_ID + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Sync cursor format (before Base64): "changes:<epoch seconds>:<nanos>:<id>"
+    private String encodeSyncCursor(Instant updatedAt, long id) {
+        String raw = SYNC_CURSOR_PREFIX + ":" + updatedAt.getEpochSecond() + ":" + updatedAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SyncCursor decodeSyncCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length == 4 && SYNC_CURSOR_PREFIX.equals(parts[0])) {
+                return new SyncCursor(Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2])),
+                        Long.parseLong(parts[3]));
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+
+    private record SyncCursor(Instant updatedAt, long id) {
+    }
+
+    // Timestamps for bulk updates, at the microsecond precision MySQL stores
+    private Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private Specification<Task> cursorSpecification(String cursor, boolean byDueDate) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (byDueDate && parts.length == 3 && SORT_BY_DUE_DATE.equals(parts[0])) {
+                LocalDate lastDueDate = parts[1].isEmpty() ? null : LocalDate.parse(parts[1]);
+                return TaskSpecifications.dueDateAfter(lastDueDate, Long.valueOf(parts[2]));
+            }
+            if (!byDueDate && parts.length == 2 && SORT_BY_ID.equals(parts[0])) {
+                return TaskSpecifications.idAfter(Long.valueOf(parts[1]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        throw new BadRequestException("Cursor does not match the requested sort");
     }
 
     // Convert Entity to DTO
@@ -119,6 +663,7 @@ public class TaskServiceImpl implements TaskService {
         taskDto.setDescription(task.getDescription());
         taskDto.setDueDate(task.getDueDate());
         taskDto.setStatus(task.getStatus().name());
+        taskDto.setVersion(task.getVersion());
         return taskDto;
     }
 
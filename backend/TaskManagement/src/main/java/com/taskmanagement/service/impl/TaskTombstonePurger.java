@@ -0,0 +1,52 @@
+package com.taskmanagement.service.impl;
+
+import com.taskmanagement.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Removes task tombstones once they are older than the sync retention window. Clients
+ * whose cursor is older than that get a full reset from the changes endpoint instead.
+ */
+@Component
+public class TaskTombstonePurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTombstonePurger.class);
+
+    private final TaskRepository taskRepository;
+
+    @Value("${app.tasks.sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.tasks.sync.tombstone-purge-batch-size:1000}")
+    private int batchSize;
+
+    public TaskTombstonePurger(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Scheduled(initialDelayString = "${app.tasks.sync.tombstone-purge-interval-milliseconds:3600000}",
+            fixedDelayString = "${app.tasks.sync.tombstone-purge-interval-milliseconds:3600000}")
+    public void purgeExpiredTombstones() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int purged = 0;
+        List<Long> ids;
+        // Small batches, each in its own transaction, so row locks are held briefly
+        do {
+            ids = taskRepository.findTombstoneIds(cutoff, batchSize);
+            if (!ids.isEmpty()) {
+                purged += taskRepository.deleteTombstones(ids);
+            }
+        } while (ids.size() == batchSize);
+        if (purged > 0) {
+            logger.info("Purged {} task tombstones older than {} days", purged, retentionDays);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.taskmanagement.service.impl;
+
+import com.taskmanagement.event.UserPurgeRequested;
+import com.taskmanagement.model.UserPurge;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserPurgeRepository;
+import com.taskmanagement.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes the tasks of users too large to remove in one request, in bounded batches that each
+ * commit on their own, then removes the user. Progress lives in {@link UserPurge}, so a purge
+ * interrupted by a restart or a failure resumes from where it stopped once its lease lapses.
+ *
+ * <p>Purges run one at a time on a dedicated thread, off the shared scheduler, so a long
+ * purge neither holds up other scheduled jobs nor puts more than one batch of load on the
+ * database at once.
+ */
+@Component
+public class UserPurgeWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPurgeWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int CLAIM_BATCH_SIZE = 10;
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final UserPurgeRepository userPurgeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("user-purge-", 0).factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    @Value("${app.users.purge.batch-size:1000}")
+    private int batchSize;
+
+    // Time between batches, to leave room for other writers and for replicas to keep up
+    @Value("${app.users.purge.batch-pause-milliseconds:0}")
+    private long batchPauseMillis;
+
+    @Value("${app.users.purge.lease-milliseconds:300000}")
+    private long leaseMillis;
+
+    public UserPurgeWorker(TaskRepository taskRepository,
+                           UserRepository userRepository,
+                           UserPurgeRepository userPurgeRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.userPurgeRepository = userPurgeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Starts right after the deactivation commits rather than on the next poll
+    @TransactionalEventListener
+    public void onPurgeRequested(UserPurgeRequested event) {
+        trigger();
+    }
+
+    // Picks up purges left unfinished by a restart, a failure or another instance
+    @Scheduled(initialDelayString = "${app.users.purge.poll-milliseconds:60000}",
+            fixedDelayString = "${app.users.purge.poll-milliseconds:60000}")
+    public void resumePending() {
+        trigger();
+    }
+
+    private void trigger() {
+        requested.set(true);
+        if (running.compareAndSet(false, true)) {
+            executor.execute(this::runPending);
+        }
+    }
+
+    private void runPending() {
+        do {
+            try {
+                while (requested.getAndSet(false)) {
+                    List<Long> userIds = userPurgeRepository.findClaimableUserIds(Instant.now(), Limit.of(CLAIM_BATCH_SIZE));
+                    for (Long userId : userIds) {
+                        String owner = UUID.randomUUID().toString();
+                        if (userPurgeRepository.claim(userId, UserPurge.PurgeStatus.RUNNING, owner, Instant.now(),
+                                leaseUntil()) == 1) {
+                            purge(userId, owner);
+                        }
+                    }
+                    if (userIds.size() == CLAIM_BATCH_SIZE) {
+                        requested.set(true);
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not look up pending user purges", e);
+            } finally {
+                running.set(false);
+            }
+            // Re-check: a request that arrived after the loop ended but before the flag was cleared
+        } while (requested.get() && running.compareAndSet(false, true));
+    }
+
+    private void purge(Long userId, String owner) {
+        try {
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> {
+                    int count = taskRepository.deleteBatchByUserId(userId, batchSize);
+                    // A batch that outlived the lease is rolled back, so only the new holder counts it
+                    if (userPurgeRepository.recordProgress(userId, owner, count, Instant.now(), leaseUntil()) == 0) {
+                        throw new LeaseLostException();
+                    }
+                    return count;
+                });
+                if (deleted == batchSize && batchPauseMillis > 0) {
+                    Thread.sleep(batchPauseMillis);
+                }
+            } while (deleted == batchSize);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.deleteRoleLinksByUserId(userId);
+                userRepository.deleteUserById(userId);
+                if (userPurgeRepository.complete(userId, owner, UserPurge.PurgeStatus.COMPLETED, Instant.now()) == 0) {
+                    throw new LeaseLostException();
+                }
+            });
+            logger.info("Finished purging user {}", userId);
+        } catch (LeaseLostException e) {
+            logger.warn("Lost the lease on the purge of user {} to another instance, leaving it to them", userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(userId, owner, "interrupted");
+        } catch (RuntimeException e) {
+            logger.warn("Purge of user {} failed, it will be retried", userId, e);
+            release(userId, owner, truncate(String.valueOf(e.getMessage())));
+        }
+    }
+
+    private void release(Long userId, String owner, String error) {
+        userPurgeRepository.release(userId, owner, UserPurge.PurgeStatus.PENDING, error, Instant.now());
+    }
+
+    private Instant leaseUntil() {
+        return Instant.now().plus(Duration.ofMillis(leaseMillis));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Rolls back the transaction it is thrown from; the purge now belongs to another instance
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
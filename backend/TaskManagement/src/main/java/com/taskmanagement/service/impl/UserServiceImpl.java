@@ -1,37 +1,149 @@
 package com.taskmanagement.service.impl;
 
 import com.taskmanagement.dto.UserDto;
+import com.taskmanagement.dto.UserPageResponse;
+import com.taskmanagement.dto.UserPurgeDto;
+import com.taskmanagement.event.UserPurgeRequested;
+import com.taskmanagement.exception.BadRequestException;
 import com.taskmanagement.exception.ResourceNotFoundException;
+import com.taskmanagement.model.AuthProvider;
 import com.taskmanagement.model.User;
+import com.taskmanagement.model.UserPurge;
 import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserPurgeRepository;
 import com.taskmanagement.repository.UserRepository;
+import com.taskmanagement.repository.UserRoleName;
+import com.taskmanagement.repository.UserSpecifications;
+import com.taskmanagement.repository.UserTaskCount;
+import com.taskmanagement.security.PrincipalCache;
+import com.taskmanagement.security.TokenVersionCache;
 import com.taskmanagement.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String SORT_BY_ID = "id";
+    private static final Set<String> SORT_FIELDS = Set.of(SORT_BY_ID, "username", "email", "name");
+    private static final String ASCENDING = "asc";
+    private static final String DESCENDING = "desc";
+    private static final int MAX_PREFIX_LENGTH = 100;
+
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final UserPurgeRepository userPurgeRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionCache tokenVersionCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Users with more tasks than this are deleted by the background purge
+    @Value("${app.users.purge.inline-task-limit:5000}")
+    private long inlineDeleteTaskLimit;
 
-    public UserServiceImpl(UserRepository userRepository, TaskRepository taskRepository) {
+    public UserServiceImpl(UserRepository userRepository, TaskRepository taskRepository,
+                           UserPurgeRepository userPurgeRepository, PrincipalCache principalCache,
+                           TokenVersionCache tokenVersionCache, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
+        this.userPurgeRepository = userPurgeRepository;
+        this.principalCache = principalCache;
+        this.tokenVersionCache = tokenVersionCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return userRepository.findAllDtos();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public UserPageResponse getUsersPage(Boolean active, String provider, String query, String sortBy,
+                                         String direction, String cursor, int size, boolean includeTaskCounts) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!SORT_FIELDS.contains(sortBy)) {
+            throw new BadRequestException("Unsupported sort '" + sortBy + "', expected one of " + SORT_FIELDS);
+        }
+        if (!ASCENDING.equals(direction) && !DESCENDING.equals(direction)) {
+            throw new BadRequestException("Unsupported direction '" + direction + "', expected 'asc' or 'desc'");
+        }
+        boolean descending = DESCENDING.equals(direction);
+
+        List<Specification<User>> filters = new ArrayList<>();
+        if (active != null) {
+            filters.add(UserSpecifications.isActive(active));
+        }
+        if (StringUtils.hasText(provider)) {
+            filters.add(UserSpecifications.hasProvider(parseProvider(provider)));
+        }
+        if (StringUtils.hasText(query)) {
+            String prefix = query.trim();
+            if (prefix.length() > MAX_PREFIX_LENGTH) {
+                throw new BadRequestException("Search prefix must be at most " + MAX_PREFIX_LENGTH + " characters");
+            }
+            filters.add(UserSpecifications.matchesPrefix(prefix));
+        }
+        if (StringUtils.hasText(cursor)) {
+            filters.add(cursorSpecification(cursor, sortBy, direction));
+        }
+
+        Sort.Direction sortDirection = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = SORT_BY_ID.equals(sortBy)
+                ? Sort.by(sortDirection, SORT_BY_ID)
+                : Sort.by(sortDirection, sortBy, SORT_BY_ID);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<UserDto> users = userRepository.findUserDtos(Specification.allOf(filters), sort, size + 1);
+        boolean hasNext = users.size() > size;
+        List<UserDto> content = hasNext ? new ArrayList<>(users.subList(0, size)) : users;
+
+        if (!content.isEmpty()) {
+            List<Long> userIds = content.stream().map(UserDto::getId).collect(Collectors.toList());
+            // One query for the roles of the whole page, and optionally one for the task counts
+            Map<Long, List<String>> rolesByUser = userRepository.findRoleNamesByUserIds(userIds).stream()
+                    .collect(Collectors.groupingBy(UserRoleName::getUserId,
+                            Collectors.mapping(UserRoleName::getRoleName, Collectors.toList())));
+            Map<Long, Long> taskCounts = new HashMap<>();
+            if (includeTaskCounts) {
+                for (UserTaskCount count : taskRepository.countByUserIds(userIds)) {
+                    taskCounts.put(count.getUserId(), count.getTaskCount());
+                }
+            }
+            for (UserDto user : content) {
+                user.setRoles(rolesByUser.getOrDefault(user.getId(), List.of()));
+                if (includeTaskCounts) {
+                    user.setTaskCount(taskCounts.getOrDefault(user.getId(), 0L));
+                }
+            }
+        }
+
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1), sortBy, direction) : null;
+        return new UserPageResponse(content, content.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
@@ -43,20 +155,101 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setActive(false);
+        // Revoke every token issued so far, including ones used in stateless mode
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        principalCache.evict(user.getUsername());
+        tokenVersionCache.evict(id);
     }
 
     @Override
     @Transactional
-    public void deleteUser(Long id) {
+    public boolean deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        
-        // Delete all tasks associated with the user
-        taskRepository.deleteByUserId(id);
-        
-        // Delete the user
-        userRepository.delete(user);
+        if (userPurgeRepository.existsById(id)) {
+            // Already handed to the background purge
+            return false;
+        }
+
+        long taskCount = taskRepository.countAllByUserId(id);
+        if (taskCount <= inlineDeleteTaskLimit) {
+            taskRepository.deleteAllByUserId(id);
+            userRepository.deleteRoleLinksByUserId(id);
+            userRepository.deleteUserById(id);
+            principalCache.evict(user.getUsername());
+            tokenVersionCache.evict(id);
+            return true;
+        }
+
+        // Too many rows for one transaction: lock the user out now and delete in batches
+        user.setActive(false);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        Instant now = Instant.now();
+        userPurgeRepository.save(UserPurge.builder()
+                .userId(id)
+                .status(UserPurge.PurgeStatus.PENDING)
+                .totalTasks(taskCount)
+                .requestedAt(now)
+                .updatedAt(now)
+                .build());
+        principalCache.evict(user.getUsername());
+        tokenVersionCache.evict(id);
+        eventPublisher.publishEvent(new UserPurgeRequested(id));
+        return false;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPurgeDto getUserPurge(Long id) {
+        UserPurge purge = userPurgeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User purge", "userId", id));
+        return new UserPurgeDto(purge.getUserId(), purge.getStatus(), purge.getTotalTasks(),
+                purge.getTasksDeleted(), purge.getRequestedAt(), purge.getCompletedAt(), purge.getLastError());
+    }
+
+    private AuthProvider parseProvider(String provider) {
+        try {
+            return AuthProvider.valueOf(provider.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown provider: " + provider);
+        }
+    }
+
+    // Cursor format (before Base64): "<sort>:<direction>:<id>:<sort value>"; the value goes last
+    // because names and emails may contain ':'
+    private String encodeCursor(UserDto last, String sortBy, String direction) {
+        String raw = sortBy + ":" + direction + ":" + last.getId() + ":" + sortValue(last, sortBy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<User> cursorSpecification(String cursor, String sortBy, String direction) {
+        String[] parts;
+        Long lastId;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split(":", 4);
+            lastId = parts.length == 4 ? Long.valueOf(parts[2]) : null;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        if (lastId == null || !sortBy.equals(parts[0]) || !direction.equals(parts[1])) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+        boolean descending = DESCENDING.equals(direction);
+        return SORT_BY_ID.equals(sortBy)
+                ? UserSpecifications.idAfter(lastId, descending)
+                : UserSpecifications.after(sortBy, parts[3], lastId, descending);
+    }
+
+    private String sortValue(UserDto user, String sortBy) {
+        return switch (sortBy) {
+            case "username" -> user.getUsername();
+            case "email" -> user.getEmail();
+            case "name" -> user.getName();
+            default -> "";
+        };
     }
 
     private UserDto mapToDto(User user) {
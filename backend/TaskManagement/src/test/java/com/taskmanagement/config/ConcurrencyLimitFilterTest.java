@@ -0,0 +1,78 @@
+package com.taskmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(2, 10, meterRegistry);
+    }
+
+    @Test
+    void synchronousRequestsReleaseTheirPermitOnReturn() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> { });
+
+        assertEquals(2, availablePermits());
+    }
+
+    @Test
+    void asyncRequestsHoldTheirPermitUntilComplete() throws Exception {
+        MockHttpServletRequest request = request();
+        filter.doFilter(request, new MockHttpServletResponse(), startAsync());
+
+        assertEquals(1, availablePermits());
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(2, availablePermits());
+    }
+
+    @Test
+    void rejectsOnceAsyncRequestsHoldEveryPermit() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), startAsync());
+        filter.doFilter(request(), new MockHttpServletResponse(), startAsync());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, (req, res) -> { });
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void eventStreamsReleaseTheirPermitOnceSubscribed() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        filter.doFilter(request, new MockHttpServletResponse(), startAsync());
+
+        assertEquals(2, availablePermits());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static FilterChain startAsync() {
+        return (req, res) -> req.startAsync();
+    }
+
+    private double availablePermits() {
+        return meterRegistry.get("request.limiter.available").gauge().value();
+    }
+}
@@ -0,0 +1,151 @@
+package com.taskmanagement.config;
+
+import com.taskmanagement.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes against two embedded H2 databases, each holding one row that names it, so every
+ * query shows which database answered.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        Router router = router(Map.of("replica-0", replica));
+
+        assertEquals("replica", router.query(true));
+        assertEquals("primary", router.query(false));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsReachable() {
+        Router router = router(Map.of("replica-0", unreachableDatabase()));
+
+        assertEquals("primary", router.query(true));
+    }
+
+    @Test
+    void unreachableReplicasAreSkipped() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", unreachableDatabase());
+        replicas.put("replica-1", replica);
+        Router router = router(replicas);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", router.query(true));
+        }
+    }
+
+    @Test
+    void recentWritersReadFromThePrimary() {
+        Router router = router(Map.of("replica-0", replica));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(
+                new UserPrincipal(7L, "user@example.com", "User", "user", "", true, List.of()), null));
+
+        assertEquals("replica", router.query(true));
+        tracker.markWrite(7L);
+        assertEquals("primary", router.query(true));
+    }
+
+    @Test
+    void connectionsWithExplicitCredentialsComeFromThePrimary() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, Map.of("replica-0", replica),
+                ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, tracker, new SimpleMeterRegistry());
+
+        try (Connection connection = routing.getConnection("sa", "");
+             ResultSet resultSet = connection.createStatement().executeQuery("select name from source")) {
+            resultSet.next();
+            assertEquals("primary", resultSet.getString(1));
+        }
+    }
+
+    @Test
+    void unwrapsToThePrimaryPoolThroughTheLazyProxy() throws Exception {
+        // Never started: no connection is opened, only the configured size is read
+        try (HikariDataSource primaryPool = new HikariDataSource()) {
+            primaryPool.setMaximumPoolSize(25);
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryPool,
+                    Map.of("replica-0", replica), ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, tracker,
+                    new SimpleMeterRegistry());
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+
+            assertTrue(dataSource.isWrapperFor(HikariDataSource.class));
+            assertEquals(25, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            assertSame(routing, dataSource.unwrap(ReadWriteRoutingDataSource.class));
+        }
+    }
+
+    private Router router(Map<String, DataSource> replicas) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas,
+                ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, tracker, new SimpleMeterRegistry());
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routing);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.afterPropertiesSet();
+        return new Router(dataSource);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table source (name varchar(20))");
+        jdbcTemplate.update("insert into source (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static DataSource unreachableDatabase() {
+        return new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+    }
+
+    private record Router(DataSource dataSource) {
+
+        String query(boolean readOnly) {
+            TransactionTemplate transactionTemplate =
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status ->
+                    new JdbcTemplate(dataSource).queryForObject("select name from source", String.class));
+        }
+    }
+}
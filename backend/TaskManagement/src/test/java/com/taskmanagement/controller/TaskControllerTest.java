@@ -0,0 +1,158 @@
+package com.taskmanagement.controller;
+
+import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.event.TaskEventBus;
+import com.taskmanagement.exception.BadRequestException;
+import com.taskmanagement.exception.GlobalExceptionHandler;
+import com.taskmanagement.exception.PreconditionFailedException;
+import com.taskmanagement.security.UserPrincipal;
+import com.taskmanagement.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskControllerTest {
+
+    private static final long USER_ID = 7L;
+    private static final String TASK_JSON =
+            "{\"title\":\"Write tests\",\"description\":\"\",\"dueDate\":\"2030-01-01\",\"status\":\"TODO\"}";
+
+    private TaskService taskService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskController(taskService, mock(TaskEventBus.class)))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(
+                new UserPrincipal(USER_ID, "user@example.com", "User", "user", "", true, List.of()), null));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void parseIfMatchTreatsMissingAndWildcardAsUnconditional() {
+        assertNull(TaskController.parseIfMatch(null));
+        assertNull(TaskController.parseIfMatch(" "));
+        assertNull(TaskController.parseIfMatch("*"));
+    }
+
+    @Test
+    void parseIfMatchReadsWeakAndStrongTags() {
+        assertEquals(Set.of(3L), TaskController.parseIfMatch("W/\"3\""));
+        assertEquals(Set.of(3L), TaskController.parseIfMatch("\"3\""));
+    }
+
+    @Test
+    void parseIfMatchReadsEveryTagInAList() {
+        assertEquals(Set.of(3L, 4L), TaskController.parseIfMatch("W/\"3\", W/\"4\""));
+        assertEquals(Set.of(3L, 4L), TaskController.parseIfMatch("\"3\",W/\"4\""));
+    }
+
+    @Test
+    void parseIfMatchDropsTagsThatAreNotVersions() {
+        assertEquals(Set.of(4L), TaskController.parseIfMatch("\"abc\", W/\"4\""));
+        assertTrue(TaskController.parseIfMatch("\"abc\"").isEmpty());
+    }
+
+    @Test
+    void parseIfMatchRejectsMalformedHeaders() {
+        assertThrows(BadRequestException.class, () -> TaskController.parseIfMatch("3"));
+        assertThrows(BadRequestException.class, () -> TaskController.parseIfMatch("W/\"3\", 4"));
+        assertThrows(BadRequestException.class, () -> TaskController.parseIfMatch("W/\"3"));
+    }
+
+    @Test
+    void updatePassesEveryListedVersionToTheService() throws Exception {
+        when(taskService.updateTask(eq(1L), any(), eq(USER_ID), eq(Set.of(3L, 4L))))
+                .thenReturn(task(1L, 5L));
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TASK_JSON)
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\", W/\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"5\""));
+    }
+
+    @Test
+    void updateWithAStaleVersionIsAPreconditionFailure() throws Exception {
+        when(taskService.updateTask(eq(1L), any(), eq(USER_ID), eq(Set.of(3L))))
+                .thenThrow(new PreconditionFailedException("Task 1 was modified by another request"));
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TASK_JSON)
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateWithAMalformedIfMatchIsABadRequest() throws Exception {
+        mockMvc.perform(put("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TASK_JSON)
+                        .header(HttpHeaders.IF_MATCH, "3"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).updateTask(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void unchangedTaskIsNotModified() throws Exception {
+        when(taskService.getTaskById(1L, USER_ID)).thenReturn(task(1L, 2L));
+
+        mockMvc.perform(get("/api/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"2\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""));
+    }
+
+    @Test
+    void unchangedListIsNotModifiedWithoutLoadingIt() throws Exception {
+        when(taskService.getTaskListVersion(USER_ID)).thenReturn("3-1700000000000000");
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-1700000000000000\""))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).getAllTasksByUserId(USER_ID);
+    }
+
+    private static TaskDto task(Long id, long version) {
+        return new TaskDto(id, "Write tests", "", LocalDate.of(2030, 1, 1), "TODO", version);
+    }
+}
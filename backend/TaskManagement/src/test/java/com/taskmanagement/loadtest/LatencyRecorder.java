@@ -0,0 +1,62 @@
+package com.taskmanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-endpoint latency samples from concurrent workers and summarises
+ * them as percentiles and throughput once the run is over.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        Samples endpointSamples = samples.computeIfAbsent(endpoint, key -> new Samples());
+        endpointSamples.latencies.add(elapsedNanos);
+        if (!success) {
+            endpointSamples.errors.increment();
+        }
+    }
+
+    List<EndpointReport> report(double elapsedSeconds) {
+        List<EndpointReport> reports = new ArrayList<>();
+        samples.forEach((endpoint, endpointSamples) -> {
+            long[] sorted = endpointSamples.latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            reports.add(new EndpointReport(
+                    endpoint,
+                    sorted.length,
+                    endpointSamples.errors.sum(),
+                    sorted.length / elapsedSeconds,
+                    percentileMillis(sorted, 50),
+                    percentileMillis(sorted, 95),
+                    percentileMillis(sorted, 99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0));
+        });
+        reports.sort((a, b) -> a.endpoint().compareTo(b.endpoint()));
+        return reports;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    record EndpointReport(String endpoint, long requests, long errors, double throughputPerSecond,
+                          double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+}
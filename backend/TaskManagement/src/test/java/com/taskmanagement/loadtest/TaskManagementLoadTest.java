@@ -0,0 +1,347 @@
+package com.taskmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.model.Role;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.model.User;
+import com.taskmanagement.repository.RoleRepository;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mixed, concurrent workload through the full HTTP stack (security filter chain,
+ * controllers, JPA) against the embedded loadtest profile and reports per-endpoint latency
+ * percentiles and throughput. Runs on the default platform request threads; see
+ * {@link VirtualThreadLoadTest} for the same workload on virtual threads.
+ * Excluded from the default build; run with {@code mvn -P loadtest test}.
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskManagementLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskManagementLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 20);
+    private static final int TASKS_PER_USER = Integer.getInteger("loadtest.tasksPerUser", 200);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 32);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private static final String REPORT_DIR = System.getProperty("loadtest.reportDir", "target");
+
+    private static final String PASSWORD = "loadtest-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<SeededUser> users = seedUsers();
+        SeededUser admin = seedAdmin();
+        for (SeededUser user : users) {
+            user.token = login(user.username, new LatencyRecorder());
+        }
+        admin.token = login(admin.username, new LatencyRecorder());
+
+        if (WARMUP_SECONDS > 0) {
+            run(users, admin, WARMUP_SECONDS, new LatencyRecorder());
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        double elapsedSeconds = run(users, admin, DURATION_SECONDS, recorder);
+        List<LatencyRecorder.EndpointReport> reports = recorder.report(elapsedSeconds);
+
+        printReport(reports, elapsedSeconds);
+        writeReport(reports, elapsedSeconds);
+
+        assertThat(reports).isNotEmpty();
+        assertThat(reports).allSatisfy(report ->
+                assertThat(report.errors()).as("errors on %s", report.endpoint()).isZero());
+    }
+
+    private double run(List<SeededUser> users, SeededUser admin, int seconds, LatencyRecorder recorder)
+            throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofSeconds(seconds).toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        SeededUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+                        execute(Operation.pick(), user, admin, recorder);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+
+    private void execute(Operation operation, SeededUser user, SeededUser admin, LatencyRecorder recorder)
+            throws IOException, InterruptedException {
+        switch (operation) {
+            case LOGIN -> user.token = login(user.username, recorder);
+            case LIST -> send("GET /api/tasks", get("/api/tasks", user), recorder);
+            case PAGE -> send("GET /api/tasks/page", get("/api/tasks/page?size=20", user), recorder);
+            case GET -> send("GET /api/tasks/{taskId}", get("/api/tasks/" + user.randomTaskId(), user), recorder);
+            case CREATE -> create(user, recorder);
+            case UPDATE -> send("PUT /api/tasks/{taskId}",
+                    authorized("/api/tasks/" + user.randomTaskId(), user)
+                            .PUT(json(taskBody("updated", Task.TaskStatus.IN_PROGRESS)))
+                            .build(),
+                    recorder);
+            case DELETE -> {
+                Long taskId = user.created.pollFirst();
+                if (taskId == null) {
+                    create(user, recorder);
+                } else {
+                    send("DELETE /api/tasks/{taskId}",
+                            authorized("/api/tasks/" + taskId, user).DELETE().build(), recorder);
+                }
+            }
+            case ADMIN_LIST -> send("GET /api/tasks/all", get("/api/tasks/all", admin), recorder);
+        }
+    }
+
+    private void create(SeededUser user, LatencyRecorder recorder) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST /api/tasks",
+                authorized("/api/tasks", user).POST(json(taskBody("created", Task.TaskStatus.TODO))).build(),
+                recorder);
+        if (response.statusCode() == 201) {
+            user.created.addLast(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    private String login(String username, LatencyRecorder recorder) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("usernameOrEmail", username, "password", PASSWORD));
+        HttpResponse<String> response = send("POST /api/auth/login",
+                request("/api/auth/login").POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                recorder);
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("accessToken").asText();
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request, LatencyRecorder recorder)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+        return response;
+    }
+
+    private HttpRequest get(String path, SeededUser user) {
+        return authorized(path, user).GET().build();
+    }
+
+    private HttpRequest.Builder authorized(String path, SeededUser user) {
+        return request(path).header("Authorization", "Bearer " + user.token);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, Object> body) throws IOException {
+        return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+    }
+
+    private static Map<String, Object> taskBody(String title, Task.TaskStatus status) {
+        return Map.of(
+                "title", title + " task",
+                "description", "Generated by the load test",
+                "dueDate", LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(60)).toString(),
+                "status", status.name());
+    }
+
+    private List<SeededUser> seedUsers() {
+        // One hash for every account: BCrypt is deliberately slow and the cost is not what is measured here
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        return transaction.execute(status -> {
+            Role userRole = roleRepository.findByName("ROLE_USER").orElseThrow();
+            List<SeededUser> seeded = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                User user = userRepository.save(newUser("loaduser" + i, encodedPassword, Set.of(userRole)));
+
+                List<Task> tasks = new ArrayList<>();
+                for (int j = 0; j < TASKS_PER_USER; j++) {
+                    tasks.add(Task.builder()
+                            .title("Seeded task " + j)
+                            .description("Seeded by the load test")
+                            .dueDate(LocalDate.now().plusDays(j % 90))
+                            .status(Task.TaskStatus.values()[j % Task.TaskStatus.values().length])
+                            .user(user)
+                            .build());
+                }
+                List<Long> taskIds = taskRepository.saveAll(tasks).stream().map(Task::getId).toList();
+                seeded.add(new SeededUser(user.getUsername(), taskIds));
+            }
+            return seeded;
+        });
+    }
+
+    private SeededUser seedAdmin() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            Set<Role> roles = new HashSet<>();
+            roles.add(roleRepository.findByName("ROLE_USER").orElseThrow());
+            roles.add(roleRepository.findByName("ROLE_ADMIN").orElseThrow());
+            User admin = userRepository.save(newUser("loadadmin", passwordEncoder.encode(PASSWORD), roles));
+            return new SeededUser(admin.getUsername(), List.of());
+        });
+    }
+
+    private static User newUser(String username, String encodedPassword, Set<Role> roles) {
+        return User.builder()
+                .name(username)
+                .username(username)
+                .email(username + "@loadtest.local")
+                .password(encodedPassword)
+                .active(true)
+                .roles(new HashSet<>(roles))
+                .build();
+    }
+
+    private void printReport(List<LatencyRecorder.EndpointReport> reports, double elapsedSeconds) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%nLoad test (%s threads): %d users x %d tasks, %d client threads, %.1fs%n",
+                threadMode(), USERS, TASKS_PER_USER, THREADS, elapsedSeconds));
+        table.append(String.format("%-28s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (LatencyRecorder.EndpointReport report : reports) {
+            table.append(String.format("%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    report.endpoint(), report.requests(), report.errors(), report.throughputPerSecond(),
+                    report.p50Millis(), report.p95Millis(), report.p99Millis(), report.maxMillis()));
+        }
+        logger.info(table.toString());
+    }
+
+    private void writeReport(List<LatencyRecorder.EndpointReport> reports, double elapsedSeconds) throws IOException {
+        Path path = Path.of(REPORT_DIR, "loadtest-report-" + threadMode() + ".json");
+        Files.createDirectories(path.getParent());
+        Map<String, Object> report = Map.of(
+                "threadMode", threadMode(),
+                "users", USERS,
+                "tasksPerUser", TASKS_PER_USER,
+                "threads", THREADS,
+                "durationSeconds", elapsedSeconds,
+                "endpoints", reports);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    private String threadMode() {
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    private enum Operation {
+        LOGIN(5), LIST(20), PAGE(10), GET(20), CREATE(15), UPDATE(15), DELETE(10), ADMIN_LIST(5);
+
+        private static final int TOTAL_WEIGHT = 100;
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick() {
+            int roll = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return LIST;
+        }
+    }
+
+    private static class SeededUser {
+        private final String username;
+        private final List<Long> taskIds;
+        // Tasks created during the run; deletes only take from here so seeded ids stay valid for reads/updates
+        private final ConcurrentLinkedDeque<Long> created = new ConcurrentLinkedDeque<>();
+        private volatile String token;
+
+        SeededUser(String username, List<Long> taskIds) {
+            this.username = username;
+            this.taskIds = taskIds;
+        }
+
+        long randomTaskId() {
+            return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.taskmanagement.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The {@link TaskManagementLoadTest} workload with request handling on virtual threads and
+ * the concurrency limiter in front of the connection pool. Compare its report with the
+ * platform-thread run.
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadTest extends TaskManagementLoadTest {
+}
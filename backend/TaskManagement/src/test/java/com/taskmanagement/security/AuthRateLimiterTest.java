@@ -0,0 +1,46 @@
+package com.taskmanagement.security;
+
+import com.taskmanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthRateLimiterTest {
+
+    // 20 per minute per IP, 5 per minute per account
+    private final AuthRateLimiter limiter = new AuthRateLimiter(true, 20, 60, 5, 60, 100, new SimpleMeterRegistry());
+
+    @Test
+    void failedAttemptsUseUpTheAccountBudget() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkAccount("alice");
+        }
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkAccount("alice"));
+        // The next token is at most 12 seconds away, rounded up to whole seconds
+        assertTrue(e.getRetryAfterSeconds() >= 1 && e.getRetryAfterSeconds() <= 12);
+    }
+
+    @Test
+    void successfulLoginsDoNotCount() {
+        for (int i = 0; i < 20; i++) {
+            limiter.checkAccount("alice");
+            limiter.refundAccount("alice");
+        }
+
+        assertDoesNotThrow(() -> limiter.checkAccount("alice"));
+    }
+
+    @Test
+    void accountKeysIgnoreCaseAndSurroundingSpace() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkAccount("alice");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAccount(" ALICE "));
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskmanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the limiter with a hand-moved clock: 5 tokens per 60 seconds is one token every
+ * 12 seconds.
+ */
+class TokenBucketLimiterTest {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(12);
+
+    private long now = TimeUnit.DAYS.toNanos(1);
+    private final TokenBucketLimiter limiter =
+            new TokenBucketLimiter(5, Duration.ofSeconds(60), 100, () -> now);
+
+    @Test
+    void allowsABurstUpToCapacity() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+        }
+    }
+
+    @Test
+    void reportsTheWaitUntilTheNextToken() {
+        drain("alice");
+
+        assertEquals(INTERVAL, limiter.tryAcquire("alice"));
+        now += TimeUnit.SECONDS.toNanos(5);
+        assertEquals(INTERVAL - TimeUnit.SECONDS.toNanos(5), limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void rejectedAttemptsDoNotPushTheWaitBack() {
+        drain("alice");
+        limiter.tryAcquire("alice");
+        limiter.tryAcquire("alice");
+
+        now += INTERVAL;
+        assertEquals(0, limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        drain("alice");
+        now += 2 * INTERVAL;
+
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(INTERVAL, limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void bucketsAreKeyedIndependently() {
+        drain("alice");
+
+        assertEquals(0, limiter.tryAcquire("bob"));
+    }
+
+    @Test
+    void refundGivesBackAToken() {
+        drain("alice");
+        limiter.refund("alice");
+
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(INTERVAL, limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void refundsNeverOverfillTheBucket() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+            limiter.refund("alice");
+        }
+        limiter.refund("alice");
+
+        drain("alice");
+        assertEquals(INTERVAL, limiter.tryAcquire("alice"));
+    }
+
+    private void drain(String key) {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(key));
+        }
+    }
+}
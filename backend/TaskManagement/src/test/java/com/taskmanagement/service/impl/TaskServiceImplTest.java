@@ -0,0 +1,311 @@
+package com.taskmanagement.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanagement.dto.TaskBatchResponse;
+import com.taskmanagement.dto.TaskBatchResult;
+import com.taskmanagement.dto.TaskChangesResponse;
+import com.taskmanagement.dto.TaskDto;
+import com.taskmanagement.dto.TaskPageResponse;
+import com.taskmanagement.exception.BadRequestException;
+import com.taskmanagement.exception.ResourceNotFoundException;
+import com.taskmanagement.model.Task;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskServiceImplTest {
+
+    private static final long USER_ID = 7L;
+    private static final Duration SETTLE = Duration.ofSeconds(2);
+
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private TaskServiceImpl taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        userRepository = mock(UserRepository.class);
+        taskService = new TaskServiceImpl(taskRepository, userRepository, new ObjectMapper(),
+                mock(Validator.class), mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(taskService, "syncSettleMillis", SETTLE.toMillis());
+        ReflectionTestUtils.setField(taskService, "tombstoneRetentionDays", 30);
+        ReflectionTestUtils.setField(taskService, "maxBatchSize", 10);
+    }
+
+    @Test
+    void creatingATaskForAMissingUserIsNotFound() {
+        when(taskRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("fk_tasks_user"));
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.createTask(taskDto(null, "TODO"), USER_ID));
+    }
+
+    @Test
+    void otherConstraintFailuresOnCreateAreNotReportedAsAMissingUser() {
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("value too long");
+        when(taskRepository.saveAndFlush(any())).thenThrow(failure);
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        assertEquals(failure, assertThrows(DataIntegrityViolationException.class,
+                () -> taskService.createTask(taskDto(null, "TODO"), USER_ID)));
+    }
+
+    @Test
+    void fullPageHandsOutACursorAfterItsLastTask() {
+        returnTasks(task(1L, null), task(2L, null), task(3L, null));
+
+        TaskPageResponse page = taskService.getTasksPageByUserId(USER_ID, null, null, null, "id", null, 2);
+
+        assertTrue(page.isHasNext());
+        assertEquals(2, page.getSize());
+        assertEquals("id:2", decode(page.getNextCursor()));
+    }
+
+    @Test
+    void dueDateCursorsCarryTheDueDateAndId() {
+        returnTasks(task(4L, LocalDate.of(2030, 1, 2)), task(5L, null));
+        assertEquals("dueDate:2030-01-02:4",
+                decode(taskService.getTasksPageByUserId(USER_ID, null, null, null, "dueDate", null, 1).getNextCursor()));
+
+        returnTasks(task(5L, null), task(6L, null));
+        assertEquals("dueDate::5",
+                decode(taskService.getTasksPageByUserId(USER_ID, null, null, null, "dueDate", null, 1).getNextCursor()));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        returnTasks(task(1L, null));
+
+        TaskPageResponse page = taskService.getTasksPageByUserId(USER_ID, null, null, null, "id", null, 2);
+
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void handedOutCursorsAreAcceptedForTheNextPage() {
+        returnTasks(task(4L, LocalDate.of(2030, 1, 2)), task(5L, null));
+        String idCursor = taskService.getTasksPageByUserId(USER_ID, null, null, null, "id", null, 1).getNextCursor();
+        String dueDateCursor =
+                taskService.getTasksPageByUserId(USER_ID, null, null, null, "dueDate", null, 1).getNextCursor();
+
+        assertDoesNotThrow(() -> taskService.getTasksPageByUserId(USER_ID, null, null, null, "id", idCursor, 1));
+        assertDoesNotThrow(() ->
+                taskService.getTasksPageByUserId(USER_ID, null, null, null, "dueDate", dueDateCursor, 1));
+        assertDoesNotThrow(() ->
+                taskService.getTasksPageByUserId(USER_ID, null, null, null, "dueDate", encode("dueDate::5"), 1));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertPageRejected("id", "not base64!", "Invalid cursor");
+        assertPageRejected("id", encode("id:abc"), "Invalid cursor");
+        assertPageRejected("dueDate", encode("dueDate:tomorrow:4"), "Invalid cursor");
+    }
+
+    @Test
+    void cursorsFromAnotherSortAreRejected() {
+        assertPageRejected("dueDate", encode("id:4"), "Cursor does not match the requested sort");
+        assertPageRejected("id", encode("dueDate:2030-01-02:4"), "Cursor does not match the requested sort");
+        assertPageRejected("id", encode("id:4:5"), "Cursor does not match the requested sort");
+    }
+
+    @Test
+    void firstSyncResetsAndLeavesOutTombstones() {
+        returnChanges();
+        Instant before = Instant.now();
+
+        TaskChangesResponse changes = taskService.getTaskChanges(USER_ID, null, 10);
+
+        ArgumentCaptor<Instant> until = ArgumentCaptor.forClass(Instant.class);
+        verify(taskRepository).findChangesByUserId(eq(USER_ID), eq(Instant.EPOCH), eq(0L), until.capture(),
+                eq(false), eq(11));
+        assertTrue(changes.isReset());
+        // Changes still inside the settle window are held back
+        assertFalse(until.getValue().isAfter(Instant.now().minus(SETTLE)));
+        assertFalse(until.getValue().isBefore(before.minus(SETTLE).minusMillis(1)));
+    }
+
+    @Test
+    void idleSyncMovesTheCursorUpToTheSettledHorizon() {
+        returnChanges();
+        ArgumentCaptor<Instant> until = ArgumentCaptor.forClass(Instant.class);
+
+        TaskChangesResponse changes =
+                taskService.getTaskChanges(USER_ID, syncCursor(Instant.now().minus(Duration.ofHours(1)), 5L), 10);
+
+        verify(taskRepository).findChangesByUserId(eq(USER_ID), any(), eq(5L), until.capture(), eq(true), eq(11));
+        assertFalse(changes.isReset());
+        assertEquals(syncCursor(until.getValue(), 0L), changes.getNextCursor());
+    }
+
+    @Test
+    void cursorsInsideTheSettleWindowStayPut() {
+        returnChanges();
+        String cursor = syncCursor(Instant.now().minusMillis(100), 5L);
+
+        assertEquals(cursor, taskService.getTaskChanges(USER_ID, cursor, 10).getNextCursor());
+    }
+
+    @Test
+    void syncReportsChangesAndTombstonesAfterTheCursor() {
+        Instant since = Instant.now().minus(Duration.ofHours(1));
+        Task updated = changedTask(6L, since.plusSeconds(1), false);
+        Task deleted = changedTask(8L, since.plusSeconds(2), true);
+        returnChanges(updated, deleted, changedTask(9L, since.plusSeconds(3), false));
+
+        TaskChangesResponse changes = taskService.getTaskChanges(USER_ID, syncCursor(since, 5L), 2);
+
+        verify(taskRepository).findChangesByUserId(eq(USER_ID), eq(since), eq(5L), any(), eq(true), eq(3));
+        assertFalse(changes.isReset());
+        assertTrue(changes.isHasMore());
+        assertEquals(List.of(6L), changes.getChanged().stream().map(TaskDto::getId).toList());
+        assertEquals(List.of(8L), changes.getDeleted());
+        assertEquals(syncCursor(deleted.getUpdatedAt(), 8L), changes.getNextCursor());
+    }
+
+    @Test
+    void cursorsOlderThanTheTombstoneRetentionReset() {
+        returnChanges();
+
+        TaskChangesResponse changes =
+                taskService.getTaskChanges(USER_ID, syncCursor(Instant.now().minus(Duration.ofDays(31)), 5L), 10);
+
+        verify(taskRepository).findChangesByUserId(eq(USER_ID), eq(Instant.EPOCH), eq(0L), any(), eq(false), eq(11));
+        assertTrue(changes.isReset());
+    }
+
+    @Test
+    void malformedSyncCursorsAreRejected() {
+        assertThrows(BadRequestException.class, () -> taskService.getTaskChanges(USER_ID, "not base64!", 10));
+        assertThrows(BadRequestException.class,
+                () -> taskService.getTaskChanges(USER_ID, encode("changes:1:x:5"), 10));
+        assertThrows(BadRequestException.class, () -> taskService.getTaskChanges(USER_ID, encode("id:5"), 10));
+    }
+
+    @Test
+    void batchUpdatesReportEachFailureAtItsIndex() {
+        Task owned = task(1L, null);
+        when(taskRepository.findByIdInAndUserId(Set.of(1L, 2L), USER_ID)).thenReturn(List.of(owned));
+
+        TaskBatchResponse response = taskService.updateTasks(Arrays.asList(
+                taskDto(1L, "DONE"), taskDto(2L, "DONE"), taskDto(null, "DONE"), taskDto(1L, "LATER"), null), USER_ID);
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(4, response.getFailed());
+        assertResult(response.getResults().get(0), 0, 1L, null);
+        assertResult(response.getResults().get(1), 1, 2L, "Task not found with id : '2'");
+        assertResult(response.getResults().get(2), 2, null, "Task id should not be null");
+        assertResult(response.getResults().get(3), 3, 1L, "Unknown task status: LATER");
+        assertResult(response.getResults().get(4), 4, null, "Task should not be null");
+        assertEquals(Task.TaskStatus.DONE, owned.getStatus());
+    }
+
+    @Test
+    void batchDeletesReportIdsTheUserDoesNotOwn() {
+        when(taskRepository.findOwnedIds(Set.of(1L, 2L), USER_ID)).thenReturn(List.of(1L));
+
+        TaskBatchResponse response = taskService.deleteTasks(Arrays.asList(1L, 2L, null), USER_ID);
+
+        verify(taskRepository).softDeleteByIdInAndUserId(eq(Set.of(1L)), eq(USER_ID), any());
+        assertEquals(1, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertResult(response.getResults().get(0), 0, 1L, null);
+        assertResult(response.getResults().get(1), 1, 2L, "Task not found with id : '2'");
+        assertFalse(response.getResults().get(2).isSuccess());
+    }
+
+    @Test
+    void batchesOutsideTheSizeLimitAreRejected() {
+        assertThrows(BadRequestException.class, () -> taskService.deleteTasks(List.of(), USER_ID));
+        assertThrows(BadRequestException.class, () -> taskService.deleteTasks(
+                List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L), USER_ID));
+    }
+
+    private static void assertResult(TaskBatchResult result, int index, Long id, String error) {
+        assertEquals(index, result.getIndex());
+        assertEquals(id, result.getId());
+        assertEquals(error == null, result.isSuccess());
+        assertEquals(error, result.getError());
+    }
+
+    private static TaskDto taskDto(Long id, String status) {
+        return new TaskDto(id, "Task " + id, "", null, status, null);
+    }
+
+    private void assertPageRejected(String sortBy, String cursor, String message) {
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> taskService.getTasksPageByUserId(USER_ID, null, null, null, sortBy, cursor, 10));
+        assertEquals(message, e.getMessage());
+    }
+
+    private void returnTasks(Task... tasks) {
+        doReturn(List.of(tasks)).when(taskRepository).findBy(any(Specification.class), any());
+    }
+
+    private void returnChanges(Task... tasks) {
+        when(taskRepository.findChangesByUserId(anyLong(), any(), anyLong(), any(), anyBoolean(), anyInt()))
+                .thenReturn(List.of(tasks));
+    }
+
+    private static Task changedTask(Long id, Instant updatedAt, boolean deleted) {
+        Task task = task(id, null);
+        task.setUpdatedAt(updatedAt);
+        task.setDeleted(deleted);
+        return task;
+    }
+
+    private static String syncCursor(Instant updatedAt, long id) {
+        return encode("changes:" + updatedAt.getEpochSecond() + ":" + updatedAt.getNano() + ":" + id);
+    }
+
+    private static Task task(Long id, LocalDate dueDate) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDueDate(dueDate);
+        task.setStatus(Task.TaskStatus.TODO);
+        return task;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
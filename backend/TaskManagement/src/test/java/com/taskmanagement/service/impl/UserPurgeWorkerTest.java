@@ -0,0 +1,130 @@
+package com.taskmanagement.service.impl;
+
+import com.taskmanagement.model.UserPurge;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserPurgeRepository;
+import com.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the worker against mocked repositories; it purges on its own thread, so every check
+ * waits for the call it expects.
+ */
+class UserPurgeWorkerTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private UserPurgeRepository userPurgeRepository;
+    private UserPurgeWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        userRepository = mock(UserRepository.class);
+        userPurgeRepository = mock(UserPurgeRepository.class);
+        worker = new UserPurgeWorker(taskRepository, userRepository, userPurgeRepository,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(worker, "batchSize", 2);
+        ReflectionTestUtils.setField(worker, "leaseMillis", 60000L);
+    }
+
+    @AfterEach
+    void shutdown() {
+        worker.shutdown();
+    }
+
+    @Test
+    void claimedPurgesDeleteInBatchesThenComplete() {
+        when(userPurgeRepository.findClaimableUserIds(any(), any())).thenReturn(List.of(7L), List.of());
+        when(userPurgeRepository.claim(eq(7L), eq(UserPurge.PurgeStatus.RUNNING), any(), any(), any())).thenReturn(1);
+        when(taskRepository.deleteBatchByUserId(7L, 2)).thenReturn(2, 2, 1);
+        when(userPurgeRepository.recordProgress(eq(7L), any(), anyInt(), any(), any())).thenReturn(1);
+        when(userPurgeRepository.complete(eq(7L), any(), eq(UserPurge.PurgeStatus.COMPLETED), any())).thenReturn(1);
+
+        worker.resumePending();
+
+        verify(userPurgeRepository, timeout(WAIT_MILLIS))
+                .complete(eq(7L), any(), eq(UserPurge.PurgeStatus.COMPLETED), any());
+        verify(taskRepository, times(3)).deleteBatchByUserId(7L, 2);
+        verify(userRepository).deleteUserById(7L);
+        verify(userPurgeRepository, never()).release(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void purgesClaimedElsewhereAreSkipped() {
+        when(userPurgeRepository.findClaimableUserIds(any(), any())).thenReturn(List.of(7L), List.of());
+        when(userPurgeRepository.claim(eq(7L), eq(UserPurge.PurgeStatus.RUNNING), any(), any(), any())).thenReturn(0);
+
+        worker.resumePending();
+
+        verify(userPurgeRepository, timeout(WAIT_MILLIS)).claim(eq(7L), any(), any(), any(), any());
+        verify(taskRepository, after(200).never()).deleteBatchByUserId(anyLong(), anyInt());
+    }
+
+    @Test
+    void everyUpdateCarriesTheTokenOfTheClaim() {
+        when(userPurgeRepository.findClaimableUserIds(any(), any())).thenReturn(List.of(7L), List.of());
+        when(userPurgeRepository.claim(eq(7L), eq(UserPurge.PurgeStatus.RUNNING), any(), any(), any())).thenReturn(1);
+        when(taskRepository.deleteBatchByUserId(7L, 2)).thenReturn(1);
+        when(userPurgeRepository.recordProgress(eq(7L), any(), anyInt(), any(), any())).thenReturn(1);
+        when(userPurgeRepository.complete(eq(7L), any(), eq(UserPurge.PurgeStatus.COMPLETED), any())).thenReturn(1);
+
+        worker.resumePending();
+
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(userPurgeRepository, timeout(WAIT_MILLIS)).complete(eq(7L), owner.capture(), any(), any());
+        verify(userPurgeRepository).claim(eq(7L), any(), eq(owner.getValue()), any(), any());
+        verify(userPurgeRepository).recordProgress(eq(7L), eq(owner.getValue()), eq(1), any(), any());
+    }
+
+    @Test
+    void purgesTakenOverByAnotherInstanceStopWithoutReleasing() {
+        when(userPurgeRepository.findClaimableUserIds(any(), any())).thenReturn(List.of(7L), List.of());
+        when(userPurgeRepository.claim(eq(7L), eq(UserPurge.PurgeStatus.RUNNING), any(), any(), any())).thenReturn(1);
+        when(taskRepository.deleteBatchByUserId(7L, 2)).thenReturn(2);
+        when(userPurgeRepository.recordProgress(eq(7L), any(), anyInt(), any(), any())).thenReturn(0);
+
+        worker.resumePending();
+
+        verify(userPurgeRepository, timeout(WAIT_MILLIS)).recordProgress(eq(7L), any(), eq(2), any(), any());
+        verify(taskRepository, after(200).times(1)).deleteBatchByUserId(7L, 2);
+        verify(userRepository, never()).deleteUserById(anyLong());
+        verify(userPurgeRepository, never()).complete(anyLong(), any(), any(), any());
+        verify(userPurgeRepository, never()).release(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void failedPurgesReleaseTheirLeaseWithTheError() {
+        when(userPurgeRepository.findClaimableUserIds(any(), any())).thenReturn(List.of(7L), List.of());
+        when(userPurgeRepository.claim(eq(7L), eq(UserPurge.PurgeStatus.RUNNING), any(), any(), any())).thenReturn(1);
+        when(taskRepository.deleteBatchByUserId(7L, 2)).thenThrow(new IllegalStateException("lock wait timeout"));
+
+        worker.resumePending();
+
+        verify(userPurgeRepository, timeout(WAIT_MILLIS))
+                .release(eq(7L), any(), eq(UserPurge.PurgeStatus.PENDING), eq("lock wait timeout"), any());
+        verify(userPurgeRepository, never()).complete(anyLong(), any(), any(), any());
+        verify(userRepository, never()).deleteUserById(anyLong());
+    }
+}
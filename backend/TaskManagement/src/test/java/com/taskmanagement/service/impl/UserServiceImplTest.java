@@ -0,0 +1,111 @@
+package com.taskmanagement.service.impl;
+
+import com.taskmanagement.dto.UserDto;
+import com.taskmanagement.dto.UserPageResponse;
+import com.taskmanagement.exception.BadRequestException;
+import com.taskmanagement.repository.TaskRepository;
+import com.taskmanagement.repository.UserPurgeRepository;
+import com.taskmanagement.repository.UserRepository;
+import com.taskmanagement.security.PrincipalCache;
+import com.taskmanagement.security.TokenVersionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private UserRepository userRepository;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userService = new UserServiceImpl(userRepository, mock(TaskRepository.class),
+                mock(UserPurgeRepository.class), mock(PrincipalCache.class), mock(TokenVersionCache.class),
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void fullPageHandsOutACursorAfterItsLastUser() {
+        returnUsers(user(1L, "Ada"), user(2L, "Grace"), user(3L, "Linus"));
+
+        UserPageResponse page = page("id", "asc", null, 2);
+
+        assertTrue(page.isHasNext());
+        assertEquals(2, page.getSize());
+        assertEquals("id:asc:2:", decode(page.getNextCursor()));
+    }
+
+    @Test
+    void cursorsKeepSortValuesThatContainColons() {
+        returnUsers(user(4L, "Dr: Who"), user(5L, "Zed"));
+
+        String cursor = page("name", "desc", null, 1).getNextCursor();
+
+        assertEquals("name:desc:4:Dr: Who", decode(cursor));
+        assertDoesNotThrow(() -> page("name", "desc", cursor, 1));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        returnUsers(user(1L, "Ada"));
+
+        UserPageResponse page = page("id", "asc", null, 2);
+
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertPageRejected("id", "asc", "not base64!", "Invalid cursor");
+        assertPageRejected("id", "asc", encode("id:asc:abc:"), "Invalid cursor");
+        assertPageRejected("id", "asc", encode("id:asc:4"), "Cursor does not match the requested sort");
+    }
+
+    @Test
+    void cursorsFromAnotherSortAreRejected() {
+        assertPageRejected("email", "asc", encode("name:asc:4:Ada"), "Cursor does not match the requested sort");
+        assertPageRejected("name", "desc", encode("name:asc:4:Ada"), "Cursor does not match the requested sort");
+    }
+
+    private UserPageResponse page(String sortBy, String direction, String cursor, int size) {
+        return userService.getUsersPage(null, null, null, sortBy, direction, cursor, size, false);
+    }
+
+    private void assertPageRejected(String sortBy, String direction, String cursor, String message) {
+        BadRequestException e = assertThrows(BadRequestException.class, () -> page(sortBy, direction, cursor, 10));
+        assertEquals(message, e.getMessage());
+    }
+
+    private void returnUsers(UserDto... users) {
+        when(userRepository.findUserDtos(any(), any(), anyInt())).thenReturn(List.of(users));
+    }
+
+    private static UserDto user(Long id, String name) {
+        return new UserDto(id, name, "user" + id, "user" + id + "@example.com", true);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}